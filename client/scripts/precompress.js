@@ -0,0 +1,37 @@
+// Writes .gz and .br siblings for the compressible build output, so the server can send the
+// precompressed variant instead of compressing on every request.
+const fs = require('fs');
+const path = require('path');
+const zlib = require('zlib');
+
+const COMPRESSIBLE = new Set(['.js', '.css', '.html', '.json', '.map', '.svg', '.txt', '.ico']);
+const MIN_SIZE = 1024;
+
+function walk(dir) {
+  return fs.readdirSync(dir, { withFileTypes: true }).flatMap((entry) => {
+    const file = path.join(dir, entry.name);
+    return entry.isDirectory() ? walk(file) : [file];
+  });
+}
+
+const root = path.resolve(process.argv[2] || 'dist');
+let count = 0;
+for (const file of walk(root)) {
+  if (!COMPRESSIBLE.has(path.extname(file))) {
+    continue;
+  }
+  const content = fs.readFileSync(file);
+  if (content.length < MIN_SIZE) {
+    continue;
+  }
+  fs.writeFileSync(`${file}.gz`, zlib.gzipSync(content, { level: zlib.constants.Z_BEST_COMPRESSION }));
+  fs.writeFileSync(`${file}.br`, zlib.brotliCompressSync(content, {
+    params: {
+      [zlib.constants.BROTLI_PARAM_MODE]: zlib.constants.BROTLI_MODE_TEXT,
+      [zlib.constants.BROTLI_PARAM_QUALITY]: zlib.constants.BROTLI_MAX_QUALITY,
+      [zlib.constants.BROTLI_PARAM_SIZE_HINT]: content.length,
+    },
+  }));
+  count++;
+}
+console.log(`Precompressed ${count} files in ${root}`);
@@ -0,0 +1,81 @@
+package com.abadeksvp.vocabbackend.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls with the same key: the first caller runs the loader and every caller
+ * that arrives while it runs gets the same result or exception. Nothing is kept once the call
+ * completes, so later callers always load again.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, Integer> running = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executed = Counter.builder("vocab.singleflight.calls")
+                .tag("name", name)
+                .tag("result", "executed")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("vocab.singleflight.calls")
+                .tag("name", name)
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalesced.increment();
+            return join(existing);
+        }
+        executed.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Counts a call with the key as running until {@link #leave}, so a caller can do uncontended
+     * work directly and only go through {@link #execute} when it is not alone.
+     *
+     * @return whether another call with the same key was already running
+     */
+    public boolean arrive(K key) {
+        return running.merge(key, 1, Integer::sum) > 1;
+    }
+
+    public void leave(K key) {
+        running.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+    }
+
+    private V join(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
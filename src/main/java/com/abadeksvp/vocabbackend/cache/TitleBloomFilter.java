@@ -0,0 +1,81 @@
+package com.abadeksvp.vocabbackend.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over strings sized for about a 1% false positive rate at {@code capacity} entries.
+ * Reads and writes are lock-free, so {@link #mightContain} never misses a string whose
+ * {@link #add} has returned.
+ */
+public class TitleBloomFilter {
+
+    private static final int HASHES = 7;
+    private static final int BITS_PER_ENTRY = 10;
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int capacity;
+    private final AtomicInteger size = new AtomicInteger();
+
+    public TitleBloomFilter(int capacity) {
+        this.capacity = Math.max(capacity, 1);
+        int wordCount = (int) Math.max(1, ((long) this.capacity * BITS_PER_ENTRY + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bits = (long) wordCount * 64;
+    }
+
+    public void add(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= HASHES; i++) {
+            long bit = ((h1 + i * h2) & 0x7fffffffL) % bits;
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(index);
+            } while ((current & mask) == 0 && !words.compareAndSet(index, current, current | mask));
+        }
+        size.incrementAndGet();
+    }
+
+    /**
+     * @return {@code false} only when {@code value} was never added
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= HASHES; i++) {
+            long bit = ((h1 + i * h2) & 0x7fffffffL) % bits;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Past capacity the false positive rate climbs, so the filter should be rebuilt larger.
+     */
+    public boolean isFull() {
+        return size.get() > capacity;
+    }
+
+    private static long hash(String value) {
+        // FNV-1a, then a murmur finalizer so both halves are well mixed
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb93fe1a85c53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,367 @@
+package com.abadeksvp.vocabbackend.cache;
+
+import com.abadeksvp.vocabbackend.configuration.WordJsonCacheProperties;
+import com.abadeksvp.vocabbackend.model.event.WordChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Off-heap cache of serialized word JSON. Entries live in fixed-size chunks carved out of direct
+ * {@link ByteBuffer} slabs, one chunk size class per power of two, and each size class keeps its own
+ * LRU so eviction always frees a chunk of the size that is needed. A size class that has nothing
+ * left to evict takes over a slab of the class used least recently, so no size range is shut out
+ * once the first classes have claimed every slab.
+ */
+@Component
+@Slf4j
+public class WordJsonCache {
+
+    public static final int MAX_ENTRY_BYTES = 64 * 1024;
+    private static final int MIN_CHUNK_BYTES = 256;
+
+    private final boolean enabled;
+    private final int slabBytes;
+    private final Segment[] segments;
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter servedBytes;
+
+    public WordJsonCache(WordJsonCacheProperties properties, MeterRegistry meterRegistry) {
+        this.slabBytes = Math.max(properties.getSlabBytes(), MAX_ENTRY_BYTES);
+        int segmentCount = Math.max(properties.getSegments(), 1);
+        int maxSlabsPerSegment = (int) (properties.getMaxBytes() / slabBytes / segmentCount);
+        this.enabled = properties.isEnabled() && maxSlabsPerSegment > 0;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(maxSlabsPerSegment);
+        }
+        this.hits = Counter.builder("vocab.word.json.cache.hits").register(meterRegistry);
+        this.misses = Counter.builder("vocab.word.json.cache.misses").register(meterRegistry);
+        this.servedBytes = Counter.builder("vocab.word.json.cache.served")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("vocab.word.json.cache.allocated", allocatedBytes, AtomicLong::get)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        log.info("Word JSON cache enabled: {}, slabs per segment: {}, segments: {}", enabled, maxSlabsPerSegment, segmentCount);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Must be taken before words are read from the database and handed back to {@link #put}, so a
+     * document read before a concurrent write is never cached after that write invalidated it.
+     */
+    public Stamp stamp() {
+        long[] invalidations = new long[segments.length];
+        for (int i = 0; i < segments.length; i++) {
+            invalidations[i] = segments[i].invalidations.get();
+        }
+        return new Stamp(invalidations);
+    }
+
+    /**
+     * Writes the cached JSON of this version of the word to {@code out}, copying it through
+     * {@code transfer}. The chunk is pinned rather than locked while it is written, so it is never
+     * reused underneath the copy and a slow client does not hold up the segment.
+     *
+     * @return whether there was an entry for this version of the word
+     */
+    public boolean writeTo(UUID id, long version, OutputStream out, byte[] transfer) throws IOException {
+        if (!enabled) {
+            return false;
+        }
+        Segment segment = segments[segmentIndex(id)];
+        Entry entry = segment.pin(id, version);
+        if (entry == null) {
+            misses.increment();
+            return false;
+        }
+        try {
+            for (int offset = 0; offset < entry.length; offset += transfer.length) {
+                int length = Math.min(transfer.length, entry.length - offset);
+                entry.chunk.buffer().get(offset, transfer, 0, length);
+                out.write(transfer, 0, length);
+            }
+        } finally {
+            segment.unpin(entry);
+        }
+        hits.increment();
+        servedBytes.increment(entry.length);
+        return true;
+    }
+
+    public void put(UUID id, long version, Stamp stamp, byte[] json, int length) {
+        if (enabled && length <= MAX_ENTRY_BYTES) {
+            int index = segmentIndex(id);
+            segments[index].put(id, version, stamp.invalidations[index], json, length);
+        }
+    }
+
+    public void invalidate(UUID id) {
+        if (enabled) {
+            segments[segmentIndex(id)].invalidate(id);
+        }
+    }
+
+    @EventListener
+    public void onWordChanged(WordChangedEvent event) {
+        invalidate(event.getWordId());
+    }
+
+    private int segmentIndex(UUID id) {
+        int hash = id.hashCode();
+        return ((hash ^ (hash >>> 16)) & 0x7fffffff) % segments.length;
+    }
+
+    private static int sizeClass(int length) {
+        int chunk = Math.max(MIN_CHUNK_BYTES, Integer.highestOneBit(Math.max(length - 1, 1)) << 1);
+        return Integer.numberOfTrailingZeros(chunk) - Integer.numberOfTrailingZeros(MIN_CHUNK_BYTES);
+    }
+
+    /**
+     * Invalidation counts of every segment at one point in time.
+     */
+    public static final class Stamp {
+        private final long[] invalidations;
+
+        private Stamp(long[] invalidations) {
+            this.invalidations = invalidations;
+        }
+    }
+
+    private final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<UUID, Entry> entries = new HashMap<>();
+        private final SlabClass[] classes;
+        private final int maxSlabs;
+        private final AtomicLong invalidations = new AtomicLong();
+        private int slabs;
+        private long clock;
+
+        private Segment(int maxSlabs) {
+            this.maxSlabs = maxSlabs;
+            int classCount = sizeClass(MAX_ENTRY_BYTES) + 1;
+            this.classes = new SlabClass[classCount];
+            for (int i = 0; i < classCount; i++) {
+                classes[i] = new SlabClass(MIN_CHUNK_BYTES << i);
+            }
+        }
+
+        private Entry pin(UUID id, long version) {
+            lock.lock();
+            try {
+                Entry entry = entries.get(id);
+                if (entry == null) {
+                    return null;
+                }
+                if (entry.version != version) {
+                    remove(entry);
+                    return null;
+                }
+                SlabClass slabClass = classes[entry.sizeClass];
+                slabClass.lru.get(id);
+                slabClass.lastUsed = ++clock;
+                entry.pins++;
+                entry.chunk.slab().pins++;
+                return entry;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void unpin(Entry entry) {
+            lock.lock();
+            try {
+                entry.pins--;
+                entry.chunk.slab().pins--;
+                if (entry.removed && entry.pins == 0) {
+                    free(entry);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void put(UUID id, long version, long stamp, byte[] json, int length) {
+            lock.lock();
+            try {
+                if (invalidations.get() != stamp) {
+                    return;
+                }
+                Entry existing = entries.get(id);
+                if (existing != null) {
+                    remove(existing);
+                }
+                int sizeClass = sizeClass(length);
+                SlabClass slabClass = classes[sizeClass];
+                Chunk chunk = takeChunk(slabClass);
+                if (chunk == null) {
+                    return;
+                }
+                chunk.buffer().put(0, json, 0, length);
+                Entry entry = new Entry(id, version, sizeClass, chunk, length);
+                entries.put(id, entry);
+                slabClass.lru.put(id, entry);
+                slabClass.lastUsed = ++clock;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void invalidate(UUID id) {
+            invalidations.incrementAndGet();
+            lock.lock();
+            try {
+                Entry entry = entries.get(id);
+                if (entry != null) {
+                    remove(entry);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private Chunk takeChunk(SlabClass slabClass) {
+            Chunk chunk = slabClass.freeChunks.poll();
+            if (chunk != null) {
+                return chunk;
+            }
+            if (slabs < maxSlabs) {
+                ByteBuffer memory = ByteBuffer.allocateDirect(slabBytes);
+                slabs++;
+                allocatedBytes.addAndGet(slabBytes);
+                carve(new Slab(memory), slabClass);
+                return slabClass.freeChunks.poll();
+            }
+            // A pinned entry keeps its chunk until it is unpinned, so eviction may need several tries
+            Iterator<Entry> eldest = slabClass.lru.values().iterator();
+            while (slabClass.freeChunks.isEmpty() && eldest.hasNext()) {
+                Entry entry = eldest.next();
+                eldest.remove();
+                remove(entry);
+            }
+            if (slabClass.freeChunks.isEmpty()) {
+                takeSlabFromColdest(slabClass);
+            }
+            return slabClass.freeChunks.poll();
+        }
+
+        private void takeSlabFromColdest(SlabClass target) {
+            SlabClass donor = null;
+            Slab slab = null;
+            for (SlabClass candidate : classes) {
+                if (candidate == target || donor != null && candidate.lastUsed >= donor.lastUsed) {
+                    continue;
+                }
+                Slab unpinned = candidate.slabs.stream().filter(s -> s.pins == 0).findFirst().orElse(null);
+                if (unpinned != null) {
+                    donor = candidate;
+                    slab = unpinned;
+                }
+            }
+            if (donor == null) {
+                return;
+            }
+            Iterator<Entry> donorEntries = donor.lru.values().iterator();
+            while (donorEntries.hasNext()) {
+                Entry entry = donorEntries.next();
+                if (entry.chunk.slab() == slab) {
+                    donorEntries.remove();
+                    entries.remove(entry.id, entry);
+                }
+            }
+            Slab moved = slab;
+            donor.freeChunks.removeIf(chunk -> chunk.slab() == moved);
+            donor.slabs.remove(slab);
+            carve(slab, target);
+            log.debug("Moved a slab from {} byte chunks to {} byte chunks", donor.chunkBytes, target.chunkBytes);
+        }
+
+        private void carve(Slab slab, SlabClass slabClass) {
+            slabClass.slabs.add(slab);
+            for (int offset = 0; offset + slabClass.chunkBytes <= slabBytes; offset += slabClass.chunkBytes) {
+                slabClass.freeChunks.add(new Chunk(slab, slab.memory.slice(offset, slabClass.chunkBytes)));
+            }
+        }
+
+        private void remove(Entry entry) {
+            entries.remove(entry.id, entry);
+            classes[entry.sizeClass].lru.remove(entry.id, entry);
+            entry.removed = true;
+            if (entry.pins == 0) {
+                free(entry);
+            }
+        }
+
+        private void free(Entry entry) {
+            classes[entry.sizeClass].freeChunks.add(entry.chunk);
+        }
+    }
+
+    private static final class SlabClass {
+        private final int chunkBytes;
+        private final List<Slab> slabs = new ArrayList<>();
+        private final ArrayDeque<Chunk> freeChunks = new ArrayDeque<>();
+        private final LinkedHashMap<UUID, Entry> lru = new LinkedHashMap<>(16, 0.75f, true);
+        private long lastUsed;
+
+        private SlabClass(int chunkBytes) {
+            this.chunkBytes = chunkBytes;
+        }
+    }
+
+    private static final class Slab {
+        private final ByteBuffer memory;
+        /**
+         * Pinned entries in this slab; a slab is only handed to another size class while it has none.
+         */
+        private int pins;
+
+        private Slab(ByteBuffer memory) {
+            this.memory = memory;
+        }
+    }
+
+    private record Chunk(Slab slab, ByteBuffer buffer) {
+    }
+
+    private static final class Entry {
+        private final UUID id;
+        private final long version;
+        private final int sizeClass;
+        private final Chunk chunk;
+        private final int length;
+        private int pins;
+        private boolean removed;
+
+        private Entry(UUID id, long version, int sizeClass, Chunk chunk, int length) {
+            this.id = id;
+            this.version = version;
+            this.sizeClass = sizeClass;
+            this.chunk = chunk;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.abadeksvp.vocabbackend.cache;
+
+import com.abadeksvp.vocabbackend.model.db.Language;
+import com.abadeksvp.vocabbackend.model.db.Word;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Per-user Bloom filters of normalized titles that let the create path skip the duplicate lookup
+ * when a title is definitely new. Filters only ever gain titles, so deleting a word leaves a false
+ * positive that costs one lookup, never a missed duplicate. Titles written by another instance are
+ * not seen, and the unique title index rejects those.
+ */
+@Component
+@Slf4j
+public class WordTitleFilters {
+
+    private static final int MIN_CAPACITY = 1024;
+    private static final int MAX_CAPACITY = 1 << 22;
+
+    private final MongoTemplate mongoTemplate;
+    private final Map<String, UserFilter> filters;
+
+    public WordTitleFilters(MongoTemplate mongoTemplate,
+                            @Value("${vocab.title-filter.max-users:10000}") int maxUsers) {
+        this.mongoTemplate = mongoTemplate;
+        this.filters = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UserFilter> eldest) {
+                return size() > maxUsers;
+            }
+        };
+    }
+
+    public boolean mightExist(String username, Language language, String normalizedTitle) {
+        UserFilter filter;
+        boolean loading = false;
+        synchronized (filters) {
+            filter = filters.get(username);
+            if (filter == null || filter.isFull()) {
+                filter = new UserFilter();
+                filters.put(username, filter);
+                loading = true;
+            }
+        }
+        if (loading) {
+            load(username, filter);
+        } else if (!filter.loaded) {
+            // Another request is still loading it
+            return true;
+        }
+        return filter.titles.mightContain(key(language, normalizedTitle));
+    }
+
+    /**
+     * Must be called after the word is written, so a filter loaded concurrently either reads the
+     * word or receives it here.
+     */
+    public void add(String username, Language language, String normalizedTitle) {
+        UserFilter filter;
+        synchronized (filters) {
+            filter = filters.get(username);
+        }
+        TitleBloomFilter titles = filter == null ? null : filter.titles;
+        if (titles != null) {
+            titles.add(key(language, normalizedTitle));
+        }
+    }
+
+    /**
+     * Only the request that put {@code filter} in place loads it. Titles added before the Bloom
+     * filter is created are dropped, which is safe because their words are written before the
+     * titles are read.
+     */
+    private void load(String username, UserFilter filter) {
+        var titlesQuery = query(where("username").is(username).and("deleted").ne(true));
+        titlesQuery.fields().include("language", "normalizedTitle");
+        String collection = mongoTemplate.getCollectionName(Word.class);
+        try {
+            long count = mongoTemplate.count(titlesQuery, collection);
+            TitleBloomFilter titles = new TitleBloomFilter((int) Math.min(MAX_CAPACITY, Math.max(MIN_CAPACITY, count * 2)));
+            filter.titles = titles;
+            try (Stream<Document> words = mongoTemplate.stream(titlesQuery, Document.class, collection)) {
+                words.forEach(word -> {
+                    String language = word.getString("language");
+                    String normalizedTitle = word.getString("normalizedTitle");
+                    if (language != null && normalizedTitle != null) {
+                        titles.add(key(language, normalizedTitle));
+                    }
+                });
+            }
+            filter.loaded = true;
+            log.debug("Loaded title filter for user: {} with {} titles", username, count);
+        } catch (RuntimeException e) {
+            synchronized (filters) {
+                filters.remove(username, filter);
+            }
+            throw e;
+        }
+    }
+
+    private static final class UserFilter {
+        private volatile TitleBloomFilter titles;
+        private volatile boolean loaded;
+
+        private boolean isFull() {
+            return loaded && titles.isFull();
+        }
+    }
+
+    private static String key(Language language, String normalizedTitle) {
+        return key(language.name(), normalizedTitle);
+    }
+
+    private static String key(String language, String normalizedTitle) {
+        return language + ":" + normalizedTitle;
+    }
+}
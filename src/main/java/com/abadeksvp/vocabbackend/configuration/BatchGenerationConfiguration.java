@@ -0,0 +1,28 @@
+package com.abadeksvp.vocabbackend.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class BatchGenerationConfiguration {
+
+    public static final String BATCH_GENERATION_EXECUTOR = "batchGenerationExecutor";
+
+    /**
+     * Large generations read the whole vocabulary of a user, so only a few run at a time and the
+     * rest wait in a bounded queue.
+     */
+    @Bean(BATCH_GENERATION_EXECUTOR)
+    public ThreadPoolTaskExecutor batchGenerationExecutor(
+            @Value("${vocab.batch.generation.threads:2}") int threads,
+            @Value("${vocab.batch.generation.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("batch-generation-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        return executor;
+    }
+}
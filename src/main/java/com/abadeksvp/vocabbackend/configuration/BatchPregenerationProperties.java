@@ -0,0 +1,17 @@
+package com.abadeksvp.vocabbackend.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "vocab.batch.pregeneration")
+public class BatchPregenerationProperties {
+    private boolean enabled = true;
+    private int maxConcurrent = 2;
+    /**
+     * Users whose batch has not changed for longer than this are not pregenerated for.
+     */
+    private Duration activeWindow = Duration.ofMinutes(30);
+}
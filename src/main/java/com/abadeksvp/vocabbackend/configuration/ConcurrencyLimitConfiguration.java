@@ -0,0 +1,28 @@
+package com.abadeksvp.vocabbackend.configuration;
+
+import com.abadeksvp.vocabbackend.web.ConcurrencyLimitFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "vocab.concurrency-limit", name = "enabled", matchIfMissing = true)
+public class ConcurrencyLimitConfiguration {
+
+    /**
+     * Runs before Spring Security, so shed requests cost no session or user lookup.
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilterRegistration(
+            ConcurrencyLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(properties, objectMapper, meterRegistry));
+        registration.addUrlPatterns("/v1/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
@@ -0,0 +1,39 @@
+package com.abadeksvp.vocabbackend.configuration;
+
+import com.abadeksvp.vocabbackend.web.EndpointClass;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "vocab.concurrency-limit")
+public class ConcurrencyLimitProperties {
+    private boolean enabled = true;
+    /**
+     * How many times slower than the smoothed baseline a window of requests may be before the limit is cut.
+     */
+    private double tolerance = 2.0;
+    /**
+     * Number of requests whose average latency is compared with the baseline at a time.
+     */
+    private int window = 100;
+    private double backoffRatio = 0.9;
+    private Map<EndpointClass, Limit> limits = new EnumMap<>(Map.of(
+            EndpointClass.READ, new Limit(40, 8, 200),
+            EndpointClass.WRITE, new Limit(20, 4, 100),
+            EndpointClass.GENERATE, new Limit(4, 1, 16),
+            EndpointClass.AUTH, new Limit(8, 2, 32)));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private int initial;
+        private int min;
+        private int max;
+    }
+}
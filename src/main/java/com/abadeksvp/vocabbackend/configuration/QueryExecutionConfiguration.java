@@ -0,0 +1,22 @@
+package com.abadeksvp.vocabbackend.configuration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class QueryExecutionConfiguration {
+
+    public static final String QUERY_EXECUTOR = "queryExecutor";
+
+    /**
+     * Runs independent database queries of one request side by side. Virtual threads only park
+     * while waiting on Mongo, so no pool needs sizing.
+     */
+    @Bean(name = QUERY_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService queryExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
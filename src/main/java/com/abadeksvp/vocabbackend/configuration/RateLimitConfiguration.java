@@ -0,0 +1,44 @@
+package com.abadeksvp.vocabbackend.configuration;
+
+import com.abadeksvp.vocabbackend.web.RateLimitFilter;
+import com.abadeksvp.vocabbackend.web.RateLimits;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Configuration
+@ConditionalOnProperty(prefix = "vocab.rate-limit", name = "enabled", matchIfMissing = true)
+public class RateLimitConfiguration {
+
+    private final RateLimitProperties properties;
+    private final RateLimits rateLimits;
+    private final RateLimitFilter rateLimitFilter;
+
+    public RateLimitConfiguration(RateLimitProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.rateLimits = new RateLimits(properties);
+        this.rateLimitFilter = new RateLimitFilter(rateLimits, objectMapper);
+    }
+
+    @Bean
+    public RateLimits rateLimits() {
+        return rateLimits;
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration() {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.addUrlPatterns("/v1/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+
+    @Scheduled(fixedDelayString = "${vocab.rate-limit.eviction-interval:1m}")
+    public void evictIdleBuckets() {
+        rateLimits.evictIdle(properties.getIdleTimeout().toMillis());
+    }
+}
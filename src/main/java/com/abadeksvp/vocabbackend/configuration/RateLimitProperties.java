@@ -0,0 +1,31 @@
+package com.abadeksvp.vocabbackend.configuration;
+
+import com.abadeksvp.vocabbackend.web.EndpointClass;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "vocab.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    private Map<EndpointClass, Limit> limits = new EnumMap<>(Map.of(
+            EndpointClass.READ, new Limit(200, 50),
+            EndpointClass.WRITE, new Limit(100, 20),
+            EndpointClass.GENERATE, new Limit(5, 0.2),
+            EndpointClass.AUTH, new Limit(10, 1)));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private int capacity;
+        private double refillPerSecond;
+    }
+}
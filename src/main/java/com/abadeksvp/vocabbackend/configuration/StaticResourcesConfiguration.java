@@ -0,0 +1,31 @@
+package com.abadeksvp.vocabbackend.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+
+import java.time.Duration;
+
+/**
+ * The client build puts content hashed assets under {@code /static/}, so they can be cached forever
+ * and served from the {@code .br}/{@code .gz} files written at build time. Everything else, such as
+ * {@code index.html}, stays on the default handler and is revalidated.
+ */
+@Configuration
+public class StaticResourcesConfiguration implements WebMvcConfigurer {
+
+    private static final Duration HASHED_ASSET_MAX_AGE = Duration.ofDays(365);
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/static/**")
+                .addResourceLocations("classpath:/static/static/")
+                .setCacheControl(CacheControl.maxAge(HASHED_ASSET_MAX_AGE).cachePublic().immutable())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new PathResourceResolver());
+    }
+}
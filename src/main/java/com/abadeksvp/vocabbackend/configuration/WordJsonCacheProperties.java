@@ -0,0 +1,13 @@
+package com.abadeksvp.vocabbackend.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "vocab.cache.word-json")
+public class WordJsonCacheProperties {
+    private boolean enabled = true;
+    private long maxBytes = 64L * 1024 * 1024;
+    private int slabBytes = 1024 * 1024;
+    private int segments = 16;
+}
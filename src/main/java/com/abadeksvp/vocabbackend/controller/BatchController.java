@@ -0,0 +1,59 @@
+package com.abadeksvp.vocabbackend.controller;
+
+import com.abadeksvp.vocabbackend.exceptions.TooManyRequestsException;
+import com.abadeksvp.vocabbackend.model.api.batch.BatchOperationType;
+import com.abadeksvp.vocabbackend.model.api.batch.BatchRequest;
+import com.abadeksvp.vocabbackend.model.api.batch.BatchResponse;
+import com.abadeksvp.vocabbackend.service.IdempotencyService;
+import com.abadeksvp.vocabbackend.service.RequestBatchService;
+import com.abadeksvp.vocabbackend.web.EndpointClass;
+import com.abadeksvp.vocabbackend.web.RateLimits;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class BatchController {
+
+    private final RequestBatchService requestBatchService;
+    private final IdempotencyService idempotencyService;
+    private final ObjectProvider<RateLimits> rateLimits;
+
+    public BatchController(RequestBatchService requestBatchService, IdempotencyService idempotencyService,
+                           ObjectProvider<RateLimits> rateLimits) {
+        this.requestBatchService = requestBatchService;
+        this.idempotencyService = idempotencyService;
+        this.rateLimits = rateLimits;
+    }
+
+    @PostMapping(value = "/v1/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public BatchResponse execute(@RequestBody @Valid BatchRequest request,
+                                 @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                 HttpServletRequest servletRequest) {
+        rateLimits.ifAvailable(limits -> chargeOperations(limits, request, servletRequest));
+        return idempotencyService.execute(idempotencyKey, request, BatchResponse.class, () -> requestBatchService.execute(request));
+    }
+
+    /**
+     * Charges each operation as the request it replaces. The filter already took one WRITE token for
+     * the batch itself.
+     */
+    private static void chargeOperations(RateLimits limits, BatchRequest request, HttpServletRequest servletRequest) {
+        int reads = (int) request.getOperations().stream()
+                .filter(operation -> operation.getOp() == BatchOperationType.GET)
+                .count();
+        int writes = request.getOperations().size() - reads;
+        long waitMillis = limits.tryAcquire(EndpointClass.WRITE, servletRequest, writes - 1);
+        if (waitMillis == 0) {
+            waitMillis = limits.tryAcquire(EndpointClass.READ, servletRequest, reads);
+        }
+        if (waitMillis > 0) {
+            throw new TooManyRequestsException(waitMillis);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.abadeksvp.vocabbackend.controller;
+
+import com.abadeksvp.vocabbackend.model.api.dashboard.DashboardResponse;
+import com.abadeksvp.vocabbackend.model.db.Language;
+import com.abadeksvp.vocabbackend.service.DashboardService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    @GetMapping(value = "/v1/dashboard", produces = MediaType.APPLICATION_JSON_VALUE)
+    public DashboardResponse getDashboard(@RequestParam(defaultValue = "ENGLISH") Language language) {
+        return dashboardService.getDashboard(language);
+    }
+}
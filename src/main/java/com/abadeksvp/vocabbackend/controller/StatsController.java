@@ -0,0 +1,29 @@
+package com.abadeksvp.vocabbackend.controller;
+
+import com.abadeksvp.vocabbackend.model.api.stats.ReviewStatsResponse;
+import com.abadeksvp.vocabbackend.model.db.Language;
+import com.abadeksvp.vocabbackend.service.ReviewHistoryService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/v1/stats")
+public class StatsController {
+
+    private final ReviewHistoryService reviewHistoryService;
+
+    public StatsController(ReviewHistoryService reviewHistoryService) {
+        this.reviewHistoryService = reviewHistoryService;
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ReviewStatsResponse getStats(@RequestParam(defaultValue = "ENGLISH") Language language,
+                                        @RequestParam(defaultValue = "30") int days) {
+        return reviewHistoryService.getStats(language, days);
+    }
+
+    @PostMapping("/rebuild")
+    public void rebuild() {
+        reviewHistoryService.rebuildRollups();
+    }
+}
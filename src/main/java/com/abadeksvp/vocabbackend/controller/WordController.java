@@ -1,39 +1,94 @@
 package com.abadeksvp.vocabbackend.controller;
 
-import com.abadeksvp.vocabbackend.model.api.PageableFilter;
-import com.abadeksvp.vocabbackend.model.api.paging.PageableDto;
+import com.abadeksvp.vocabbackend.model.api.ResponseFormat;
 import com.abadeksvp.vocabbackend.model.api.word.request.ChangeWordStatusRequest;
 import com.abadeksvp.vocabbackend.model.api.word.request.CreateWordRequest;
+import com.abadeksvp.vocabbackend.model.api.word.request.ReviewWordRequest;
 import com.abadeksvp.vocabbackend.model.api.word.request.UpdateWordRequest;
 import com.abadeksvp.vocabbackend.model.api.word.request.WordsFilter;
+import com.abadeksvp.vocabbackend.model.api.word.response.ReviewStateResponse;
+import com.abadeksvp.vocabbackend.model.api.word.response.WordChangesResponse;
 import com.abadeksvp.vocabbackend.model.api.word.response.WordResponse;
+import com.abadeksvp.vocabbackend.model.api.word.response.WordSuggestionResponse;
+import com.abadeksvp.vocabbackend.model.db.Language;
+import com.abadeksvp.vocabbackend.service.IdempotencyService;
+import com.abadeksvp.vocabbackend.service.WordReviewService;
 import com.abadeksvp.vocabbackend.service.WordService;
+import com.abadeksvp.vocabbackend.service.WordStreamService;
+import com.abadeksvp.vocabbackend.service.WordSuggestService;
+import com.abadeksvp.vocabbackend.service.WordSyncService;
+import com.abadeksvp.vocabbackend.web.VocabularyETags;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.util.List;
+
 @RestController
 @RequestMapping("/v1/words")
 public class WordController {
 
     private final WordService wordService;
+    private final WordStreamService wordStreamService;
+    private final WordSyncService wordSyncService;
+    private final WordReviewService wordReviewService;
+    private final VocabularyETags vocabularyETags;
+    private final IdempotencyService idempotencyService;
+    private final WordSuggestService wordSuggestService;
 
-    public WordController(WordService wordService) {
+    public WordController(WordService wordService,
+                          WordStreamService wordStreamService,
+                          WordSyncService wordSyncService,
+                          WordReviewService wordReviewService,
+                          VocabularyETags vocabularyETags,
+                          IdempotencyService idempotencyService,
+                          WordSuggestService wordSuggestService) {
         this.wordService = wordService;
+        this.wordStreamService = wordStreamService;
+        this.wordSyncService = wordSyncService;
+        this.wordReviewService = wordReviewService;
+        this.vocabularyETags = vocabularyETags;
+        this.idempotencyService = idempotencyService;
+        this.wordSuggestService = wordSuggestService;
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, ResponseFormat.SMILE_VALUE})
+    public void getWordsToLearn(@Valid WordsFilter filter,
+                                ServletWebRequest webRequest,
+                                HttpServletResponse response) throws IOException {
+        if (vocabularyETags.checkNotModified(webRequest, filter.getLanguage())) {
+            return;
+        }
+        ResponseFormat format = ResponseFormat.fromAccept(webRequest.getHeader(HttpHeaders.ACCEPT));
+        response.setContentType(format.getMediaType().toString());
+        wordStreamService.streamWords(filter, format, response.getOutputStream());
     }
 
-    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public PageableDto<WordResponse> getWordsToLearn(@Valid WordsFilter filter) {
-        return wordService.getWords(filter);
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_JSON_VALUE)
+    public WordChangesResponse getChanges(@RequestParam(required = false) String since,
+                                          @RequestParam(defaultValue = "500") int limit) {
+        return wordSyncService.getChanges(since, limit);
     }
 
-    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public WordResponse createWord(@RequestBody @Valid CreateWordRequest request) {
-        return wordService.createWord(request);
+    @GetMapping(value = "/suggest", produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<WordSuggestionResponse> suggest(@RequestParam String prefix,
+                                                @RequestParam(defaultValue = "ENGLISH") Language language,
+                                                @RequestParam(defaultValue = "10") int limit) {
+        return wordSuggestService.suggest(prefix, language, limit);
     }
 
-    @PutMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @PostMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, ResponseFormat.SMILE_VALUE})
+    public WordResponse createWord(@RequestBody @Valid CreateWordRequest request,
+                                   @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, request, WordResponse.class, () -> wordService.createWord(request));
+    }
+
+    @PutMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, ResponseFormat.SMILE_VALUE})
     public WordResponse updateWord(@RequestBody @Valid UpdateWordRequest request) {
         return wordService.updateWord(request);
     }
@@ -43,13 +98,27 @@ public class WordController {
         wordService.deleteWord(wordId);
     }
 
-    @GetMapping("/{wordId}")
-    public WordResponse getWord(@PathVariable String wordId){
-        return wordService.getWordById(wordId);
+    @GetMapping(value = "/{wordId}",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, ResponseFormat.SMILE_VALUE})
+    public void getWord(@PathVariable String wordId,
+                        @RequestParam(required = false) String fields,
+                        ServletWebRequest webRequest,
+                        HttpServletResponse response) throws IOException {
+        if (vocabularyETags.checkNotModified(webRequest, null)) {
+            return;
+        }
+        ResponseFormat format = ResponseFormat.fromAccept(webRequest.getHeader(HttpHeaders.ACCEPT));
+        response.setContentType(format.getMediaType().toString());
+        wordStreamService.streamWordById(wordId, fields, format, response.getOutputStream());
     }
 
     @PatchMapping(value = "/status", produces = MediaType.APPLICATION_JSON_VALUE)
     public WordResponse changeStatus(@RequestBody @Valid ChangeWordStatusRequest request) {
         return wordService.changeWordStatus(request);
     }
+
+    @PostMapping(value = "/review", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ReviewStateResponse review(@RequestBody @Valid ReviewWordRequest request) {
+        return wordReviewService.review(request);
+    }
 }
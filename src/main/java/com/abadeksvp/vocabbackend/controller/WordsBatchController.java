@@ -1,35 +1,103 @@
 package com.abadeksvp.vocabbackend.controller;
 
 import com.abadeksvp.vocabbackend.exceptions.ApiException;
-import com.abadeksvp.vocabbackend.model.api.word.response.WordResponse;
+import com.abadeksvp.vocabbackend.model.BatchGenerationStrategy;
+import com.abadeksvp.vocabbackend.model.api.PageableFilter;
+import com.abadeksvp.vocabbackend.model.api.ResponseFormat;
+import com.abadeksvp.vocabbackend.model.api.word.request.SubmitBatchResultsRequest;
+import com.abadeksvp.vocabbackend.model.api.word.response.BatchGenerationJobResponse;
 import com.abadeksvp.vocabbackend.model.db.Language;
+import com.abadeksvp.vocabbackend.service.IdempotencyService;
+import com.abadeksvp.vocabbackend.service.WordReviewService;
+import com.abadeksvp.vocabbackend.service.WordStreamService;
 import com.abadeksvp.vocabbackend.service.WordsBatchService;
+import com.abadeksvp.vocabbackend.web.VocabularyETags;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
-import java.util.List;
+import java.io.IOException;
+import java.net.URI;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/v1/words-batch")
 public class WordsBatchController {
 
+    private static final int MAX_SYNC_SIZE = 200;
+    private static final int MAX_SIZE = 10_000;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final WordsBatchService wordsBatchService;
+    private final WordStreamService wordStreamService;
+    private final WordReviewService wordReviewService;
+    private final VocabularyETags vocabularyETags;
+    private final IdempotencyService idempotencyService;
 
-    public WordsBatchController(WordsBatchService wordsBatchService) {
+    public WordsBatchController(WordsBatchService wordsBatchService,
+                                WordStreamService wordStreamService,
+                                WordReviewService wordReviewService,
+                                VocabularyETags vocabularyETags,
+                                IdempotencyService idempotencyService) {
         this.wordsBatchService = wordsBatchService;
+        this.wordStreamService = wordStreamService;
+        this.wordReviewService = wordReviewService;
+        this.vocabularyETags = vocabularyETags;
+        this.idempotencyService = idempotencyService;
     }
 
     @PostMapping("/generate")
-    public void generate(@RequestParam(defaultValue = "50") int size,
-                         @RequestParam(defaultValue = "ENGLISH") Language language) {
-        if (size <= 0 || size > 200) {
-            throw new ApiException("Size must be between 0 and 200", HttpStatus.CONFLICT);
+    public ResponseEntity<BatchGenerationJobResponse> generate(@RequestParam(defaultValue = "50") int size,
+                                                               @RequestParam(defaultValue = "ENGLISH") Language language,
+                                                               @RequestParam(defaultValue = "RANDOM") BatchGenerationStrategy strategy) {
+        if (size <= 0 || size > MAX_SIZE) {
+            throw new ApiException("Size must be between 0 and " + MAX_SIZE, HttpStatus.CONFLICT);
+        }
+        if (size <= MAX_SYNC_SIZE) {
+            wordsBatchService.generate(size, language, strategy);
+            return ResponseEntity.ok().build();
         }
-        wordsBatchService.generate(size, language);
+        BatchGenerationJobResponse job = wordsBatchService.startGeneration(size, language, strategy);
+        return ResponseEntity.accepted()
+                .location(URI.create("/v1/words-batch/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping(value = "/jobs/{jobId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public BatchGenerationJobResponse getJob(@PathVariable UUID jobId) {
+        return wordsBatchService.getJob(jobId);
     }
 
-    @GetMapping
-    public List<WordResponse> getWordsBatch(@RequestParam(defaultValue = "ENGLISH") Language language) {
-        return wordsBatchService.getBatch(language);
+    @PostMapping("/results")
+    public void submitResults(@RequestBody @Valid SubmitBatchResultsRequest request,
+                              @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        idempotencyService.execute(idempotencyKey, request, Void.class, () -> {
+            wordReviewService.submitBatchResults(request);
+            return null;
+        });
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, ResponseFormat.SMILE_VALUE})
+    public void getWordsBatch(@RequestParam(defaultValue = "ENGLISH") Language language,
+                              @RequestParam(defaultValue = "0") int page,
+                              @RequestParam(defaultValue = "200") int size,
+                              @RequestParam(required = false) String fields,
+                              ServletWebRequest webRequest,
+                              HttpServletResponse response) throws IOException {
+        if (page < 0 || size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new ApiException("Page must not be negative and size must be between 0 and " + MAX_PAGE_SIZE,
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (vocabularyETags.checkNotModified(webRequest, language)) {
+            return;
+        }
+        ResponseFormat format = ResponseFormat.fromAccept(webRequest.getHeader(HttpHeaders.ACCEPT));
+        response.setContentType(format.getMediaType().toString());
+        wordStreamService.streamBatch(language, new PageableFilter(page, size), fields, format, response.getOutputStream());
     }
 }
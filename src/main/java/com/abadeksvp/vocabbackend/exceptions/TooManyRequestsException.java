@@ -0,0 +1,17 @@
+package com.abadeksvp.vocabbackend.exceptions;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class TooManyRequestsException extends ApiException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(long retryAfterMillis) {
+        super("Too many requests", HttpStatus.TOO_MANY_REQUESTS);
+        this.retryAfterSeconds = Math.max(1, (retryAfterMillis + 999) / 1000);
+    }
+}
@@ -39,4 +39,11 @@ public class VocabExceptionHandler extends ResponseEntityExceptionHandler {
         log.info("ApiException occurred", ex);
         return new ResponseEntity<>(apiError, ex.getHttpStatus());
     }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequests(TooManyRequestsException ex) {
+        return ResponseEntity.status(ex.getHttpStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ErrorResponse(List.of(ex.getMessage())));
+    }
 }
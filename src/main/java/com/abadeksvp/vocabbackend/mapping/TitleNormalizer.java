@@ -0,0 +1,25 @@
+package com.abadeksvp.vocabbackend.mapping;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Reduces a word title to the form used to compare titles, so "Apple", " apple" and "APPLE" are
+ * the same word.
+ */
+public final class TitleNormalizer {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private TitleNormalizer() {
+    }
+
+    public static String normalize(String title) {
+        if (title == null) {
+            return null;
+        }
+        String normalized = Normalizer.normalize(title, Normalizer.Form.NFKC).strip();
+        return WHITESPACE.matcher(normalized).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
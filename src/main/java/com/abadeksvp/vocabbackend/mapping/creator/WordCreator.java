@@ -1,7 +1,9 @@
 package com.abadeksvp.vocabbackend.mapping.creator;
 
+import com.abadeksvp.vocabbackend.mapping.TitleNormalizer;
 import com.abadeksvp.vocabbackend.mapping.mapper.UpsertDefinitionRequestToDefinitionMapper;
 import com.abadeksvp.vocabbackend.model.api.word.request.CreateWordRequest;
+import com.abadeksvp.vocabbackend.model.db.ReviewState;
 import com.abadeksvp.vocabbackend.model.db.Word;
 import com.abadeksvp.vocabbackend.security.SecurityUtils;
 import com.abadeksvp.vocabbackend.service.DateTimeGenerator;
@@ -33,6 +35,7 @@ public class WordCreator implements Creator<CreateWordRequest, Word> {
                 .id(uuidGenerator.generate())
                 .username(username)
                 .title(request.getTitle())
+                .normalizedTitle(TitleNormalizer.normalize(request.getTitle()))
                 .transcription(request.getTranscription())
                 .part(request.getPart())
                 .status(request.getStatus())
@@ -40,6 +43,7 @@ public class WordCreator implements Creator<CreateWordRequest, Word> {
                 .definitions(toDefinitionMapper.mapAll(request.getDefinitions()))
                 .createDate(now)
                 .lastUpdateDate(now)
+                .review(ReviewState.initial(now))
                 .build();
     }
 }
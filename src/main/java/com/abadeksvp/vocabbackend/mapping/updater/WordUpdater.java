@@ -1,5 +1,6 @@
 package com.abadeksvp.vocabbackend.mapping.updater;
 
+import com.abadeksvp.vocabbackend.mapping.TitleNormalizer;
 import com.abadeksvp.vocabbackend.mapping.mapper.UpsertDefinitionRequestToDefinitionMapper;
 import com.abadeksvp.vocabbackend.model.api.word.request.CreateWordRequest;
 import com.abadeksvp.vocabbackend.model.api.word.request.UpdateWordRequest;
@@ -27,6 +28,7 @@ public class WordUpdater implements Updater<UpdateWordRequest, Word>{
                 .id(existing.getId())
                 .username(existing.getUsername())
                 .title(request.getTitle())
+                .normalizedTitle(TitleNormalizer.normalize(request.getTitle()))
                 .transcription(request.getTranscription())
                 .part(request.getPart())
                 .status(request.getStatus())
@@ -34,6 +36,7 @@ public class WordUpdater implements Updater<UpdateWordRequest, Word>{
                 .definitions(toDefinitionMapper.mapAll(request.getDefinitions()))
                 .createDate(existing.getCreateDate())
                 .lastUpdateDate(now)
+                .review(existing.getReview())
                 .build();
     }
 }
@@ -0,0 +1,198 @@
+package com.abadeksvp.vocabbackend.mapping.writer;
+
+import com.abadeksvp.vocabbackend.model.api.word.request.WordField;
+import com.abadeksvp.vocabbackend.model.api.word.response.WordResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.bson.BsonBinary;
+import org.bson.BsonBinarySubType;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.UuidRepresentation;
+import org.springframework.boot.autoconfigure.mongo.MongoProperties;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes a raw word document with the same shape as {@link WordResponse}, or the selected part of
+ * it such as {@link WordFieldSelection#SUMMARY}, renaming and formatting fields while the BSON is being read.
+ */
+@Service
+public class RawWordJsonWriter {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss");
+
+    private static final Map<String, WordField> DOCUMENT_FIELDS = Arrays.stream(WordField.values())
+            .collect(Collectors.toMap(WordField::getDocumentName, Function.identity()));
+
+    private final UuidRepresentation uuidRepresentation;
+
+    public RawWordJsonWriter(MongoProperties mongoProperties) {
+        this.uuidRepresentation = mongoProperties.getUuidRepresentation();
+    }
+
+    public UUID readId(RawBsonDocument document) {
+        BsonValue id = document.get("_id");
+        return id.isBinary() ? toUuid(id.asBinary()) : UUID.fromString(id.asString().getValue());
+    }
+
+    /**
+     * @return the change sequence of the word, which every write moves, or 0 for a word written
+     * before sequences existed
+     */
+    public long readChangeSeq(RawBsonDocument document) {
+        BsonValue changeSeq = document.get("changeSeq");
+        return changeSeq != null && changeSeq.isNumber() ? changeSeq.asNumber().longValue() : 0L;
+    }
+
+    public void write(RawBsonDocument document, JsonGenerator generator) throws IOException {
+        write(document, generator, WordFieldSelection.ALL);
+    }
+
+    /**
+     * Writes the selected fields only, as {@code null} when the document does not have them.
+     */
+    public void write(RawBsonDocument document, JsonGenerator generator, WordFieldSelection selection) throws IOException {
+        int written = 0;
+        generator.writeStartObject();
+        try (BsonReader reader = document.asBsonReader()) {
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                WordField field = DOCUMENT_FIELDS.get(reader.readName());
+                if (field == null || !selection.includes(field)) {
+                    reader.skipValue();
+                    continue;
+                }
+                switch (field) {
+                    case ID -> writeUuid(reader, generator, field.getJsonName());
+                    case DEFINITIONS -> writeDefinitions(reader, generator);
+                    case CREATE_DATE, LAST_UPDATE_DATE -> writeDate(reader, generator, field.getJsonName());
+                    default -> writeString(reader, generator, field.getJsonName());
+                }
+                written |= field.getBit();
+            }
+            reader.readEndDocument();
+        }
+        writeMissingAsNull(selection, written, generator);
+        generator.writeEndObject();
+    }
+
+    private void writeUuid(BsonReader reader, JsonGenerator generator, String name) throws IOException {
+        if (reader.getCurrentBsonType() != BsonType.BINARY) {
+            writeString(reader, generator, name);
+            return;
+        }
+        generator.writeStringField(name, toUuid(reader.readBinaryData()).toString());
+    }
+
+    private UUID toUuid(BsonBinary binary) {
+        return binary.getType() == BsonBinarySubType.UUID_STANDARD.getValue()
+                ? binary.asUuid()
+                : binary.asUuid(uuidRepresentation);
+    }
+
+    private void writeString(BsonReader reader, JsonGenerator generator, String name) throws IOException {
+        generator.writeFieldName(name);
+        if (reader.getCurrentBsonType() == BsonType.STRING) {
+            generator.writeString(reader.readString());
+        } else {
+            reader.skipValue();
+            generator.writeNull();
+        }
+    }
+
+    private void writeDate(BsonReader reader, JsonGenerator generator, String name) throws IOException {
+        generator.writeFieldName(name);
+        if (reader.getCurrentBsonType() == BsonType.DATE_TIME) {
+            LocalDateTime dateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(reader.readDateTime()), ZoneId.systemDefault());
+            generator.writeString(DATE_FORMATTER.format(dateTime));
+        } else {
+            reader.skipValue();
+            generator.writeNull();
+        }
+    }
+
+    private void writeDefinitions(BsonReader reader, JsonGenerator generator) throws IOException {
+        generator.writeFieldName("definitions");
+        if (reader.getCurrentBsonType() != BsonType.ARRAY) {
+            reader.skipValue();
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartArray();
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            writeDefinition(reader, generator);
+        }
+        reader.readEndArray();
+        generator.writeEndArray();
+    }
+
+    private void writeDefinition(BsonReader reader, JsonGenerator generator) throws IOException {
+        boolean definitionWritten = false;
+        boolean examplesWritten = false;
+        generator.writeStartObject();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "definition" -> {
+                    writeString(reader, generator, "definition");
+                    definitionWritten = true;
+                }
+                case "examples" -> {
+                    writeStringArray(reader, generator, "examples");
+                    examplesWritten = true;
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        if (!definitionWritten) {
+            generator.writeNullField("definition");
+        }
+        if (!examplesWritten) {
+            generator.writeNullField("examples");
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeStringArray(BsonReader reader, JsonGenerator generator, String name) throws IOException {
+        generator.writeFieldName(name);
+        if (reader.getCurrentBsonType() != BsonType.ARRAY) {
+            reader.skipValue();
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartArray();
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            if (reader.getCurrentBsonType() == BsonType.STRING) {
+                generator.writeString(reader.readString());
+            } else {
+                reader.skipValue();
+                generator.writeNull();
+            }
+        }
+        reader.readEndArray();
+        generator.writeEndArray();
+    }
+
+    private void writeMissingAsNull(WordFieldSelection selection, int written, JsonGenerator generator) throws IOException {
+        for (WordField field : WordField.values()) {
+            if (selection.includes(field) && (written & field.getBit()) == 0) {
+                generator.writeNullField(field.getJsonName());
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.abadeksvp.vocabbackend.mapping.writer;
+
+import com.abadeksvp.vocabbackend.exceptions.ApiException;
+import com.abadeksvp.vocabbackend.model.api.word.request.WordField;
+import com.mongodb.client.model.Projections;
+import org.bson.conversions.Bson;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A set of {@link WordField}s with its Mongo projection. Every possible selection is built once up
+ * front and the {@code fields} parameter values seen so far are remembered, so a request only pays
+ * for a map lookup.
+ */
+public final class WordFieldSelection {
+
+    private static final int MAX_REMEMBERED_PARAMS = 1024;
+    private static final WordField[] FIELDS = WordField.values();
+    private static final WordFieldSelection[] BY_MASK = new WordFieldSelection[1 << FIELDS.length];
+    private static final Map<String, WordFieldSelection> BY_PARAM = new ConcurrentHashMap<>();
+
+    static {
+        for (int mask = 0; mask < BY_MASK.length; mask++) {
+            BY_MASK[mask] = new WordFieldSelection(mask);
+        }
+    }
+
+    public static final WordFieldSelection ALL = BY_MASK[BY_MASK.length - 1];
+    public static final WordFieldSelection SUMMARY = of(WordField.ID, WordField.TITLE, WordField.STATUS, WordField.LANGUAGE);
+
+    private final int mask;
+    @Nullable
+    private final Bson projection;
+    @Nullable
+    private final Bson projectionWithId;
+
+    private WordFieldSelection(int mask) {
+        this.mask = mask;
+        this.projection = mask == BY_MASK.length - 1 ? null : buildProjection(mask);
+        this.projectionWithId = (mask & WordField.ID.getBit()) != 0 ? projection : buildProjection(mask | WordField.ID.getBit());
+    }
+
+    public static WordFieldSelection of(WordField... fields) {
+        int mask = 0;
+        for (WordField field : fields) {
+            mask |= field.getBit();
+        }
+        return BY_MASK[mask];
+    }
+
+    /**
+     * Resolves a comma separated list of response field names, or {@link #ALL} when there is none.
+     */
+    public static WordFieldSelection parse(@Nullable String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        WordFieldSelection selection = BY_PARAM.get(fields);
+        if (selection != null) {
+            return selection;
+        }
+        int mask = 0;
+        for (String name : fields.split(",")) {
+            WordField field = WordField.fromJsonName(name.trim());
+            if (field == null) {
+                throw new ApiException("Unknown word field: " + name.trim(), HttpStatus.BAD_REQUEST);
+            }
+            mask |= field.getBit();
+        }
+        selection = BY_MASK[mask];
+        if (BY_PARAM.size() < MAX_REMEMBERED_PARAMS) {
+            BY_PARAM.put(fields, selection);
+        }
+        return selection;
+    }
+
+    public boolean includes(WordField field) {
+        return (mask & field.getBit()) != 0;
+    }
+
+    public boolean isAll() {
+        return this == ALL;
+    }
+
+    /**
+     * @return the projection for this selection, or {@code null} when every field is read
+     */
+    @Nullable
+    public Bson projection() {
+        return projection;
+    }
+
+    /**
+     * Same as {@link #projection()} but always reads {@code _id}, for callers that need the id of
+     * a document the selection does not write.
+     */
+    @Nullable
+    public Bson projectionWithId() {
+        return projectionWithId;
+    }
+
+    private static Bson buildProjection(int mask) {
+        List<String> included = new ArrayList<>();
+        for (WordField field : FIELDS) {
+            if ((mask & field.getBit()) != 0 && field != WordField.ID) {
+                included.add(field.getDocumentName());
+            }
+        }
+        if ((mask & WordField.ID.getBit()) != 0) {
+            return Projections.include(included.isEmpty() ? List.of("_id") : included);
+        }
+        return Projections.fields(Projections.include(included), Projections.excludeId());
+    }
+}
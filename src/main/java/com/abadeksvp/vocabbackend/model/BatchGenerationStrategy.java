@@ -0,0 +1,12 @@
+package com.abadeksvp.vocabbackend.model;
+
+public enum BatchGenerationStrategy {
+    /**
+     * Random words with a fixed share of {@link WordStatus#TO_LEARN} and {@link WordStatus#LEARNED}.
+     */
+    RANDOM,
+    /**
+     * The most overdue words of the review queue.
+     */
+    SPACED_REPETITION
+}
@@ -0,0 +1,8 @@
+package com.abadeksvp.vocabbackend.model;
+
+public enum JobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,53 @@
+package com.abadeksvp.vocabbackend.model.api;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.List;
+
+/**
+ * Representations the word read endpoints can be streamed in.
+ */
+public enum ResponseFormat {
+    JSON(MediaType.APPLICATION_JSON),
+    CBOR(MediaType.APPLICATION_CBOR),
+    SMILE(MediaType.parseMediaType(ResponseFormat.SMILE_VALUE));
+
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    private final MediaType mediaType;
+
+    ResponseFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Picks the format preferred by an {@code Accept} header, falling back to JSON.
+     */
+    public static ResponseFormat fromAccept(@Nullable String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType mediaType : accepted) {
+            for (ResponseFormat format : values()) {
+                if (mediaType.isCompatibleWith(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+}
@@ -0,0 +1,33 @@
+package com.abadeksvp.vocabbackend.model.api.batch;
+
+import com.abadeksvp.vocabbackend.model.api.word.request.ChangeWordStatusRequest;
+import com.abadeksvp.vocabbackend.model.api.word.request.CreateWordRequest;
+import com.abadeksvp.vocabbackend.model.api.word.request.UpdateWordRequest;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One sub-request of a batch. Only the payload matching {@link #op} is read: {@code create},
+ * {@code update} or {@code changeStatus}, or {@code id} for {@code GET} and {@code DELETE}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperationRequest {
+    @NotNull
+    private BatchOperationType op;
+    private UUID id;
+    @Valid
+    private CreateWordRequest create;
+    @Valid
+    private UpdateWordRequest update;
+    @Valid
+    private ChangeWordStatusRequest changeStatus;
+}
@@ -0,0 +1,21 @@
+package com.abadeksvp.vocabbackend.model.api.batch;
+
+import com.abadeksvp.vocabbackend.exceptions.ErrorResponse;
+import com.abadeksvp.vocabbackend.model.api.word.response.WordResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperationResult {
+    /**
+     * The HTTP status the operation would have had as a separate request.
+     */
+    private int status;
+    private WordResponse word;
+    private ErrorResponse error;
+}
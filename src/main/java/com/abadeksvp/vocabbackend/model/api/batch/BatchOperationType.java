@@ -0,0 +1,9 @@
+package com.abadeksvp.vocabbackend.model.api.batch;
+
+public enum BatchOperationType {
+    CREATE,
+    UPDATE,
+    CHANGE_STATUS,
+    DELETE,
+    GET
+}
@@ -0,0 +1,23 @@
+package com.abadeksvp.vocabbackend.model.api.batch;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequest {
+    @Builder.Default
+    @NotEmpty
+    @Size(max = 100)
+    private List<@Valid BatchOperationRequest> operations = new ArrayList<>();
+}
@@ -0,0 +1,19 @@
+package com.abadeksvp.vocabbackend.model.api.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResponse {
+    /**
+     * One result per operation, in request order.
+     */
+    private List<BatchOperationResult> results;
+}
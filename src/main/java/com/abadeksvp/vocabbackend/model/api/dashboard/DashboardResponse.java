@@ -0,0 +1,29 @@
+package com.abadeksvp.vocabbackend.model.api.dashboard;
+
+import com.abadeksvp.vocabbackend.model.api.UserResponse;
+import com.abadeksvp.vocabbackend.model.api.paging.PageableDto;
+import com.abadeksvp.vocabbackend.model.api.word.response.WordResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardResponse {
+    private UserResponse user;
+    private WordCountsResponse counts;
+    private PageableDto<WordResponse> words;
+    /**
+     * {@code null} when the user has no batch for the language.
+     */
+    private List<WordResponse> batch;
+    /**
+     * Sections that failed or did not finish in time and are left empty.
+     */
+    private List<DashboardSection> unavailable;
+}
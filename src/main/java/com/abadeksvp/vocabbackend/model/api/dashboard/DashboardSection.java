@@ -0,0 +1,8 @@
+package com.abadeksvp.vocabbackend.model.api.dashboard;
+
+public enum DashboardSection {
+    USER,
+    COUNTS,
+    WORDS,
+    BATCH
+}
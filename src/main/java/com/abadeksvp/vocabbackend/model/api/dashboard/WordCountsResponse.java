@@ -0,0 +1,20 @@
+package com.abadeksvp.vocabbackend.model.api.dashboard;
+
+import com.abadeksvp.vocabbackend.model.WordStatus;
+import com.abadeksvp.vocabbackend.model.db.Language;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WordCountsResponse {
+    private long total;
+    private Map<WordStatus, Long> byStatus;
+    private Map<Language, Long> byLanguage;
+}
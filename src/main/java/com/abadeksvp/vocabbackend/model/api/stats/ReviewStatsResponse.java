@@ -0,0 +1,24 @@
+package com.abadeksvp.vocabbackend.model.api.stats;
+
+import com.abadeksvp.vocabbackend.model.db.Language;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewStatsResponse {
+    private Language language;
+    private long reviews;
+    private double correctRate;
+    private long learned;
+    /**
+     * One entry per day of the requested range, oldest first, including days without reviews.
+     */
+    private List<DailyReviewStatsResponse> days;
+}
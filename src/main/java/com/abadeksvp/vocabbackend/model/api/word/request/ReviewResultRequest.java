@@ -0,0 +1,29 @@
+package com.abadeksvp.vocabbackend.model.api.word.request;
+
+import com.abadeksvp.vocabbackend.model.WordStatus;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewResultRequest {
+    @NotNull
+    private UUID wordId;
+    @NotNull
+    @Min(0)
+    @Max(5)
+    private Integer quality;
+    /**
+     * New status of the word, if the answer changed it.
+     */
+    private WordStatus status;
+}
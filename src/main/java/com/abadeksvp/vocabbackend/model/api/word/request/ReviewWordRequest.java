@@ -0,0 +1,24 @@
+package com.abadeksvp.vocabbackend.model.api.word.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewWordRequest {
+    @NotNull
+    private UUID id;
+    @NotNull
+    @Min(0)
+    @Max(5)
+    private Integer quality;
+}
@@ -0,0 +1,33 @@
+package com.abadeksvp.vocabbackend.model.api.word.request;
+
+import com.abadeksvp.vocabbackend.model.db.Language;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Review results of words in the current batch. Results of a batch larger than {@link #MAX_RESULTS}
+ * are submitted in several requests, each applied on its own; a word marked learned leaves the
+ * batch, so a later chunk must not repeat it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmitBatchResultsRequest {
+    public static final int MAX_RESULTS = 200;
+
+    @Builder.Default
+    private Language language = Language.ENGLISH;
+    @Builder.Default
+    @NotEmpty
+    @Size(max = MAX_RESULTS)
+    private List<@Valid ReviewResultRequest> results = new ArrayList<>();
+}
@@ -0,0 +1,48 @@
+package com.abadeksvp.vocabbackend.model.api.word.request;
+
+/**
+ * Fields of {@code WordResponse} that can be selected with the {@code fields} parameter, in response
+ * order.
+ */
+public enum WordField {
+    ID("id", "_id"),
+    TITLE("title", "title"),
+    TRANSCRIPTION("transcription", "transcription"),
+    PART("part", "part"),
+    STATUS("status", "status"),
+    DEFINITIONS("definitions", "definitions"),
+    CREATE_DATE("createDate", "createDate"),
+    LAST_UPDATE_DATE("lastUpdateDate", "lastUpdateDate"),
+    LANGUAGE("language", "language");
+
+    private final String jsonName;
+    private final String documentName;
+    private final int bit;
+
+    WordField(String jsonName, String documentName) {
+        this.jsonName = jsonName;
+        this.documentName = documentName;
+        this.bit = 1 << ordinal();
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    public String getDocumentName() {
+        return documentName;
+    }
+
+    public int getBit() {
+        return bit;
+    }
+
+    public static WordField fromJsonName(String jsonName) {
+        for (WordField field : values()) {
+            if (field.jsonName.equals(jsonName)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,9 @@
+package com.abadeksvp.vocabbackend.model.api.word.request;
+
+public enum WordView {
+    FULL,
+    /**
+     * Only id, title, status and language of {@code WordResponse}.
+     */
+    SUMMARY
+}
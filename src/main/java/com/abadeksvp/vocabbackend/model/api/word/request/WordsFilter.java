@@ -22,4 +22,17 @@ public class WordsFilter extends PageableFilter {
 
     @Nullable
     private Language language = Language.ENGLISH;
+
+    private WordView view = WordView.FULL;
+
+    /**
+     * Comma separated response fields, takes precedence over {@link #view}.
+     */
+    @Nullable
+    private String fields;
+
+    /**
+     * Matches {@link #q} against titles within a small edit distance, closest first, instead of by substring.
+     */
+    private boolean fuzzy;
 }
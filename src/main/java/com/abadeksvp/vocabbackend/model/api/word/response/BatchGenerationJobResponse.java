@@ -0,0 +1,31 @@
+package com.abadeksvp.vocabbackend.model.api.word.response;
+
+import com.abadeksvp.vocabbackend.model.BatchGenerationStrategy;
+import com.abadeksvp.vocabbackend.model.JobStatus;
+import com.abadeksvp.vocabbackend.model.db.Language;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGenerationJobResponse {
+    private UUID id;
+    private JobStatus status;
+    private Language language;
+    private int size;
+    private BatchGenerationStrategy strategy;
+    private Integer generated;
+    private String error;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy HH:mm:ss")
+    private LocalDateTime createDate;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy HH:mm:ss")
+    private LocalDateTime finishDate;
+}
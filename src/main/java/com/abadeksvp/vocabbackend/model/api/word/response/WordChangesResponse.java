@@ -0,0 +1,20 @@
+package com.abadeksvp.vocabbackend.model.api.word.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WordChangesResponse {
+    private List<WordResponse> changed;
+    private List<UUID> deleted;
+    private String next;
+    private boolean hasMore;
+}
@@ -0,0 +1,17 @@
+package com.abadeksvp.vocabbackend.model.api.word.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WordSuggestionResponse {
+    private UUID id;
+    private String title;
+}
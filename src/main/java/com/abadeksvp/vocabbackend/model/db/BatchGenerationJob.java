@@ -0,0 +1,45 @@
+package com.abadeksvp.vocabbackend.model.db;
+
+import com.abadeksvp.vocabbackend.model.BatchGenerationStrategy;
+import com.abadeksvp.vocabbackend.model.JobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Generation of a batch too large to build on the request thread. Jobs are kept for a day so
+ * clients can poll the outcome. A PENDING or RUNNING job is {@code active}, and a user may have only
+ * one; the instance running it keeps renewing {@code leaseUntil}, so a job left behind by an instance
+ * that died can be failed once the lease runs out.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document
+@CompoundIndex(name = "username_active", def = "{'username': 1}", unique = true, partialFilter = "{'active': true}")
+public class BatchGenerationJob {
+    @Id
+    private UUID id;
+    private String username;
+    private Language language;
+    private int size;
+    private BatchGenerationStrategy strategy;
+    private JobStatus status;
+    private Integer generated;
+    private String error;
+    @Indexed(name = "createDate_ttl", expireAfter = "1d")
+    private LocalDateTime createDate;
+    private LocalDateTime finishDate;
+    private Boolean active;
+    private Date leaseUntil;
+}
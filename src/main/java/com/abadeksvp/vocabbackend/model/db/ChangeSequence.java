@@ -0,0 +1,21 @@
+package com.abadeksvp.vocabbackend.model.db;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Last change sequence handed out for a user's words. Recent reservations are kept alongside it
+ * by {@code MongoChangeSequenceGenerator}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document
+public class ChangeSequence {
+    @Id
+    private String username;
+    private long seq;
+}
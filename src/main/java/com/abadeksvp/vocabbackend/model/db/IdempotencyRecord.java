@@ -0,0 +1,36 @@
+package com.abadeksvp.vocabbackend.model.db;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a request sent with an {@code Idempotency-Key}, kept for a day so retries get the
+ * original response instead of repeating the write.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document
+public class IdempotencyRecord {
+    public static final int TTL_DAYS = 1;
+    private static final String TTL = TTL_DAYS + "d";
+
+    /**
+     * Username and key, so keys only have to be unique per user.
+     */
+    @Id
+    private String id;
+    private String fingerprint;
+    private boolean completed;
+    private String response;
+    @Indexed(name = "createDate_ttl", expireAfter = TTL)
+    private LocalDateTime createDate;
+}
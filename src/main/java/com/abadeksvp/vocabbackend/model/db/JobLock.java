@@ -0,0 +1,23 @@
+package com.abadeksvp.vocabbackend.model.db;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * A job that must run on one instance at a time, held by {@link #owner} until {@link #lockedUntil}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document
+public class JobLock {
+    @Id
+    private String name;
+    private String owner;
+    private Date lockedUntil;
+}
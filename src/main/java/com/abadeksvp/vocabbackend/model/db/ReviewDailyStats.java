@@ -0,0 +1,32 @@
+package com.abadeksvp.vocabbackend.model.db;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Review counters of one user, language and day, incremented as {@link ReviewEvent}s are written.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document
+@CompoundIndex(name = "username_language_day", def = "{'username': 1, 'language': 1, 'day': 1}", unique = true)
+public class ReviewDailyStats {
+    @Id
+    private String id;
+    private String username;
+    private Language language;
+    /**
+     * ISO date ({@code yyyy-MM-dd}) in the server time zone, so days sort lexicographically.
+     */
+    private String day;
+    private long reviews;
+    private long correct;
+    private long learned;
+}
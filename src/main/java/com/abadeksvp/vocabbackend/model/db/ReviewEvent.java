@@ -0,0 +1,43 @@
+package com.abadeksvp.vocabbackend.model.db;
+
+import com.abadeksvp.vocabbackend.model.WordStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TimeSeries;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One answer given during a study session. Events are only ever inserted, into a time-series
+ * collection bucketed by {@link ReviewEventMeta}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document
+@TimeSeries(timeField = "reviewedAt", metaField = "meta", granularity = Granularity.HOURS)
+public class ReviewEvent {
+    @Id
+    private String id;
+    private ReviewEventMeta meta;
+    private UUID wordId;
+    private int quality;
+    private WordStatus statusBefore;
+    private WordStatus statusAfter;
+    private LocalDateTime reviewedAt;
+
+    public boolean isCorrect() {
+        return quality >= 3;
+    }
+
+    public boolean isNewlyLearned() {
+        return statusAfter == WordStatus.LEARNED && statusBefore != WordStatus.LEARNED;
+    }
+}
@@ -0,0 +1,15 @@
+package com.abadeksvp.vocabbackend.model.db;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewEventMeta {
+    private String username;
+    private Language language;
+}
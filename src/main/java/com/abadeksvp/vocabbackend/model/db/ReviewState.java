@@ -0,0 +1,33 @@
+package com.abadeksvp.vocabbackend.model.db;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * SM-2 scheduling state of a word; {@link #dueAt} orders the user's review queue.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewState {
+
+    public static final double INITIAL_EASE = 2.5;
+
+    private double ease;
+    private int interval;
+    private int repetitions;
+    private LocalDateTime dueAt;
+    private LocalDateTime lastReviewedAt;
+
+    public static ReviewState initial(LocalDateTime now) {
+        return ReviewState.builder()
+                .ease(INITIAL_EASE)
+                .dueAt(now)
+                .build();
+    }
+}
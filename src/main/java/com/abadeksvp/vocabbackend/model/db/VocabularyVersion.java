@@ -0,0 +1,24 @@
+package com.abadeksvp.vocabbackend.model.db;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Versions of a user's vocabulary, as a whole and per language, bumped on every change.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document
+public class VocabularyVersion {
+    @Id
+    private String username;
+    private long total;
+    private Map<Language, Long> languages = new EnumMap<>(Language.class);
+}
@@ -7,6 +7,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -19,12 +21,21 @@ import java.util.UUID;
 @AllArgsConstructor
 @Document
 @QueryEntity
+@CompoundIndex(name = "username_changeSeq", def = "{'username': 1, 'changeSeq': 1}")
+@CompoundIndex(name = "username_language_dueAt", def = "{'username': 1, 'language': 1, 'review.dueAt': 1}")
 public class Word {
 
+    public static final int TOMBSTONE_TTL_DAYS = 30;
+    private static final String TOMBSTONE_TTL = TOMBSTONE_TTL_DAYS + "d";
+
     @Id
     private UUID id;
     private String username;
     private String title;
+    /**
+     * Title as compared for uniqueness, see {@link com.abadeksvp.vocabbackend.mapping.TitleNormalizer}.
+     */
+    private String normalizedTitle;
     private String transcription;
     private String part;
     private WordStatus status;
@@ -32,4 +43,9 @@ public class Word {
     private LocalDateTime createDate;
     private LocalDateTime lastUpdateDate;
     private Language language;
+    private ReviewState review;
+    private Long changeSeq;
+    private boolean deleted;
+    @Indexed(name = "deletedAt_ttl", expireAfter = TOMBSTONE_TTL)
+    private LocalDateTime deletedAt;
 }
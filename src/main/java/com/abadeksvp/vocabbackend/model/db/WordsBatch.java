@@ -1,5 +1,6 @@
 package com.abadeksvp.vocabbackend.model.db;
 
+import com.abadeksvp.vocabbackend.model.BatchGenerationStrategy;
 import com.querydsl.core.annotations.QueryEntity;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -25,4 +26,11 @@ public class WordsBatch {
     private List<UUID> words;
     private LocalDateTime lastUpdateDate;
     private Language language;
+    private Integer size;
+    private BatchGenerationStrategy strategy;
+    /**
+     * Next batch precomputed in the background for the same size and strategy, swapped in by the
+     * next generation request.
+     */
+    private List<UUID> pendingWords;
 }
@@ -0,0 +1,16 @@
+package com.abadeksvp.vocabbackend.model.event;
+
+import com.abadeksvp.vocabbackend.model.db.Language;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * The pending batch of a user was dropped. The served batch is unchanged, so unlike
+ * {@link WordsBatchChangedEvent} this does not move the vocabulary version.
+ */
+@Data
+@AllArgsConstructor
+public class PendingBatchDiscardedEvent {
+    private String username;
+    private Language language;
+}
@@ -0,0 +1,5 @@
+package com.abadeksvp.vocabbackend.model.event;
+
+public enum WordChangeType {
+    CREATED, UPDATED, STATUS_CHANGED, DELETED
+}
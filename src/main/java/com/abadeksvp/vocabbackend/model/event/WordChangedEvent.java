@@ -0,0 +1,41 @@
+package com.abadeksvp.vocabbackend.model.event;
+
+import com.abadeksvp.vocabbackend.model.WordStatus;
+import com.abadeksvp.vocabbackend.model.db.Language;
+import com.abadeksvp.vocabbackend.model.db.Word;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.lang.Nullable;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class WordChangedEvent {
+    private String username;
+    private UUID wordId;
+    private Language language;
+    private WordChangeType type;
+    /**
+     * Status of the word after the change.
+     */
+    private WordStatus status;
+    /**
+     * Title of the word after the change, or {@code null} when the word is no longer in
+     * {@link #language}. Status changes may leave it out.
+     */
+    @Nullable
+    private String title;
+    @Nullable
+    private String normalizedTitle;
+
+    /**
+     * A change of {@code word}, as seen from {@code language}: its title is only carried when the
+     * word is still there.
+     */
+    public static WordChangedEvent of(Word word, Language language, WordChangeType type) {
+        boolean present = !word.isDeleted() && word.getLanguage() == language;
+        return new WordChangedEvent(word.getUsername(), word.getId(), language, type, word.getStatus(),
+                present ? word.getTitle() : null, present ? word.getNormalizedTitle() : null);
+    }
+}
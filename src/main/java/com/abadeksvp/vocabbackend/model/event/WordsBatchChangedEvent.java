@@ -0,0 +1,12 @@
+package com.abadeksvp.vocabbackend.model.event;
+
+import com.abadeksvp.vocabbackend.model.db.Language;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class WordsBatchChangedEvent {
+    private String username;
+    private Language language;
+}
@@ -0,0 +1,11 @@
+package com.abadeksvp.vocabbackend.repository;
+
+import com.abadeksvp.vocabbackend.model.db.BatchGenerationJob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface BatchGenerationJobRepository extends MongoRepository<BatchGenerationJob, UUID> {
+    Optional<BatchGenerationJob> findByIdAndUsername(UUID id, String username);
+}
@@ -0,0 +1,7 @@
+package com.abadeksvp.vocabbackend.repository;
+
+import com.abadeksvp.vocabbackend.model.db.IdempotencyRecord;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface IdempotencyRecordRepository extends MongoRepository<IdempotencyRecord, String> {
+}
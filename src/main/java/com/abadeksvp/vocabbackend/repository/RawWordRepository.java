@@ -0,0 +1,73 @@
+package com.abadeksvp.vocabbackend.repository;
+
+import com.abadeksvp.vocabbackend.model.db.Word;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Reads {@link Word} documents as undecoded BSON so they can be written to the response without
+ * materializing entities.
+ */
+@Repository
+public class RawWordRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    public RawWordRepository(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public MongoCursor<RawBsonDocument> find(Bson filter, Bson sort, long skip, int limit) {
+        return find(filter, null, sort, skip, limit);
+    }
+
+    public MongoCursor<RawBsonDocument> find(Bson filter, Bson projection, Bson sort, long skip, int limit) {
+        return collection().find(filter)
+                .projection(projection)
+                .sort(sort)
+                .skip((int) skip)
+                .limit(limit)
+                .cursor();
+    }
+
+    public MongoCursor<RawBsonDocument> findAllByIdIn(Collection<UUID> ids) {
+        return findAllByIdIn(ids, null);
+    }
+
+    public MongoCursor<RawBsonDocument> findAllByIdIn(Collection<UUID> ids, Bson projection) {
+        return collection().find(Filters.and(Filters.in("_id", ids), notDeleted()))
+                .projection(projection)
+                .cursor();
+    }
+
+    public RawBsonDocument findById(UUID id) {
+        return findById(id, null);
+    }
+
+    public RawBsonDocument findById(UUID id, Bson projection) {
+        return collection().find(Filters.and(Filters.eq("_id", id), notDeleted()))
+                .projection(projection)
+                .first();
+    }
+
+    public long count(Bson filter) {
+        return collection().countDocuments(filter);
+    }
+
+    public static Bson notDeleted() {
+        return Filters.ne("deleted", true);
+    }
+
+    private MongoCollection<RawBsonDocument> collection() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Word.class))
+                .withDocumentClass(RawBsonDocument.class);
+    }
+}
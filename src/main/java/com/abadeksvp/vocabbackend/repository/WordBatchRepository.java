@@ -3,6 +3,7 @@ package com.abadeksvp.vocabbackend.repository;
 import com.abadeksvp.vocabbackend.model.db.Language;
 import com.abadeksvp.vocabbackend.model.db.WordsBatch;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 
 import java.util.Optional;
@@ -10,4 +11,11 @@ import java.util.UUID;
 
 public interface WordBatchRepository extends MongoRepository<WordsBatch, UUID>, QuerydslPredicateExecutor<WordsBatch> {
     Optional<WordsBatch> findByUsernameAndLanguage(String username, Language language);
+
+    /**
+     * Reads the batch with only {@code limit} of its word ids starting at {@code skip}, and without
+     * its pending words.
+     */
+    @Query(value = "{'username': ?0, 'language': ?1}", fields = "{'words': {'$slice': [?2, ?3]}, 'pendingWords': 0}")
+    Optional<WordsBatch> findPageByUsernameAndLanguage(String username, Language language, int skip, int limit);
 }
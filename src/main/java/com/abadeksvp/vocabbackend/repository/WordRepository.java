@@ -2,7 +2,9 @@ package com.abadeksvp.vocabbackend.repository;
 
 import com.abadeksvp.vocabbackend.model.db.Language;
 import com.abadeksvp.vocabbackend.model.db.Word;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 
 import java.util.Collection;
@@ -13,6 +15,22 @@ public interface WordRepository extends MongoRepository<Word, UUID>, QuerydslPre
 
     List<Word> findByUsername(String username);
 
-    List<Word> findByUsernameAndLanguage(String username, Language language);
-    List<Word> findAllByIdIn(Collection<UUID> ids);
+    @Query("{ 'username': ?0, 'language': ?1, 'deleted': { $ne: true } }")
+    List<Word> findActiveByUsernameAndLanguage(String username, Language language);
+
+    @Query("{ '_id': { $in: ?0 }, 'deleted': { $ne: true } }")
+    List<Word> findActiveByIdIn(Collection<UUID> ids);
+
+    @Query(value = "{ 'username': ?0, 'language': ?1, 'normalizedTitle': ?2, '_id': { $ne: ?3 }, 'deleted': { $ne: true } }",
+            exists = true)
+    boolean existsActiveByTitle(String username, Language language, String normalizedTitle, UUID excludedId);
+
+    /**
+     * Reads the front of the review queue, leaving out {@code excludedIds}; words that were never
+     * scheduled come first.
+     */
+    @Query(value = "{ 'username': ?0, 'language': ?1, 'deleted': { $ne: true }, '_id': { $nin: ?2 } }",
+            fields = "{ '_id': 1 }",
+            sort = "{ 'review.dueAt': 1 }")
+    List<Word> findMostOverdue(String username, Language language, Collection<UUID> excludedIds, Limit limit);
 }
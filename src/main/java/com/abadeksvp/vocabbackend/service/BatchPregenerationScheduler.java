@@ -0,0 +1,95 @@
+package com.abadeksvp.vocabbackend.service;
+
+import com.abadeksvp.vocabbackend.configuration.BatchPregenerationProperties;
+import com.abadeksvp.vocabbackend.model.db.Language;
+import com.abadeksvp.vocabbackend.model.event.PendingBatchDiscardedEvent;
+import com.abadeksvp.vocabbackend.model.event.WordsBatchChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Precomputes the next batch of users who are studying their current one. A user becomes due
+ * whenever their batch changes or their pending batch is discarded, and the most recently active users are served first with at most
+ * {@link BatchPregenerationProperties#getMaxConcurrent()} generations running at a time.
+ */
+@Component
+@Slf4j
+public class BatchPregenerationScheduler {
+
+    private final WordsBatchService wordsBatchService;
+    private final BatchPregenerationProperties properties;
+    private final Map<BatchKey, Long> due = new ConcurrentHashMap<>();
+    private final Semaphore permits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public BatchPregenerationScheduler(WordsBatchService wordsBatchService, BatchPregenerationProperties properties) {
+        this.wordsBatchService = wordsBatchService;
+        this.properties = properties;
+        this.permits = new Semaphore(Math.max(properties.getMaxConcurrent(), 1));
+    }
+
+    @EventListener
+    public void onWordsBatchChanged(WordsBatchChangedEvent event) {
+        markDue(event.getUsername(), event.getLanguage());
+    }
+
+    @EventListener
+    public void onPendingBatchDiscarded(PendingBatchDiscardedEvent event) {
+        markDue(event.getUsername(), event.getLanguage());
+    }
+
+    private void markDue(String username, Language language) {
+        if (properties.isEnabled() && language != null) {
+            due.put(new BatchKey(username, language), System.currentTimeMillis());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${vocab.batch.pregeneration.interval:5s}")
+    public void run() {
+        long activeSince = System.currentTimeMillis() - properties.getActiveWindow().toMillis();
+        due.values().removeIf(lastActive -> lastActive < activeSince);
+        List<Map.Entry<BatchKey, Long>> mostRecentFirst = due.entrySet().stream()
+                .sorted(Map.Entry.<BatchKey, Long>comparingByValue(Comparator.reverseOrder()))
+                .toList();
+        for (Map.Entry<BatchKey, Long> entry : mostRecentFirst) {
+            if (!permits.tryAcquire()) {
+                return;
+            }
+            BatchKey key = entry.getKey();
+            if (!due.remove(key, entry.getValue())) {
+                permits.release();
+                continue;
+            }
+            executor.execute(() -> pregenerate(key));
+        }
+    }
+
+    private void pregenerate(BatchKey key) {
+        try {
+            wordsBatchService.pregenerate(key.username(), key.language());
+        } catch (RuntimeException e) {
+            log.warn("Failed to pregenerate batch of user {} and language {}", key.username(), key.language(), e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record BatchKey(String username, Language language) {
+    }
+}
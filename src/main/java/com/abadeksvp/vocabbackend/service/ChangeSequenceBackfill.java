@@ -0,0 +1,53 @@
+package com.abadeksvp.vocabbackend.service;
+
+import com.abadeksvp.vocabbackend.model.db.Word;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Assigns change sequences to words stored before sequences existed, so delta sync can page
+ * through every word by sequence.
+ */
+@Component
+@Slf4j
+public class ChangeSequenceBackfill {
+
+    private final MongoTemplate mongoTemplate;
+    private final ChangeSequenceGenerator changeSequenceGenerator;
+
+    public ChangeSequenceBackfill(MongoTemplate mongoTemplate, ChangeSequenceGenerator changeSequenceGenerator) {
+        this.mongoTemplate = mongoTemplate;
+        this.changeSequenceGenerator = changeSequenceGenerator;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void backfill() {
+        Criteria missing = Criteria.where("changeSeq").exists(false);
+        List<String> usernames = mongoTemplate.findDistinct(Query.query(missing), "username", Word.class, String.class);
+        for (String username : usernames) {
+            Query query = Query.query(Criteria.where("username").is(username).and("changeSeq").exists(false));
+            query.fields().include("_id");
+            List<Word> words = mongoTemplate.find(query, Word.class);
+            if (words.isEmpty()) {
+                continue;
+            }
+            long seq = changeSequenceGenerator.reserve(username, words.size());
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Word.class);
+            for (Word word : words) {
+                bulk.updateOne(Query.query(Criteria.where("_id").is(word.getId()).and("changeSeq").exists(false)),
+                        Update.update("changeSeq", seq++));
+            }
+            bulk.execute();
+            log.info("Assigned change sequences to {} words of user {}", words.size(), username);
+        }
+    }
+}
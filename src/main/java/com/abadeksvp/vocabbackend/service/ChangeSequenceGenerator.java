@@ -0,0 +1,19 @@
+package com.abadeksvp.vocabbackend.service;
+
+public interface ChangeSequenceGenerator {
+
+    long next(String username);
+
+    /**
+     * Reserves {@code count} consecutive sequence numbers.
+     *
+     * @return the first reserved number
+     */
+    long reserve(String username, int count);
+
+    /**
+     * @return the highest sequence number at or below which every reserved number is either
+     * written or no longer expected to be
+     */
+    long settled(String username);
+}
@@ -0,0 +1,9 @@
+package com.abadeksvp.vocabbackend.service;
+
+import com.abadeksvp.vocabbackend.model.api.dashboard.DashboardResponse;
+import com.abadeksvp.vocabbackend.model.db.Language;
+
+public interface DashboardService {
+
+    DashboardResponse getDashboard(Language language);
+}
@@ -0,0 +1,16 @@
+package com.abadeksvp.vocabbackend.service;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    String HEADER = "Idempotency-Key";
+
+    /**
+     * Runs {@code action} once per key. A retry with the same key and request gets the stored
+     * response without running it again; a different request with the same key is rejected.
+     *
+     * @param key the key sent by the client, or {@code null} to just run the action
+     */
+    <T> T execute(String key, Object request, Class<T> responseType, Supplier<T> action);
+}
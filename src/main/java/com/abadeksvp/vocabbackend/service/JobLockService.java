@@ -0,0 +1,16 @@
+package com.abadeksvp.vocabbackend.service;
+
+import java.time.Duration;
+
+public interface JobLockService {
+
+    /**
+     * Takes the lock for {@code lease} unless another instance holds it. Calling it again while
+     * holding the lock extends the lease.
+     *
+     * @return whether this instance holds the lock
+     */
+    boolean tryLock(String name, Duration lease);
+
+    void unlock(String name);
+}
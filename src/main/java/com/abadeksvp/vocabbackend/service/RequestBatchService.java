@@ -0,0 +1,9 @@
+package com.abadeksvp.vocabbackend.service;
+
+import com.abadeksvp.vocabbackend.model.api.batch.BatchRequest;
+import com.abadeksvp.vocabbackend.model.api.batch.BatchResponse;
+
+public interface RequestBatchService {
+
+    BatchResponse execute(BatchRequest request);
+}
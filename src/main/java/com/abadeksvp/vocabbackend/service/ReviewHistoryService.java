@@ -0,0 +1,22 @@
+package com.abadeksvp.vocabbackend.service;
+
+import com.abadeksvp.vocabbackend.model.api.stats.ReviewStatsResponse;
+import com.abadeksvp.vocabbackend.model.db.Language;
+import com.abadeksvp.vocabbackend.model.db.ReviewEvent;
+
+import java.util.List;
+
+public interface ReviewHistoryService {
+
+    /**
+     * Appends the events and adds them to the daily rollups.
+     */
+    void record(List<ReviewEvent> events);
+
+    ReviewStatsResponse getStats(Language language, int days);
+
+    /**
+     * Recomputes the current user's daily rollups from the raw events.
+     */
+    void rebuildRollups();
+}
@@ -0,0 +1,15 @@
+package com.abadeksvp.vocabbackend.service;
+
+import com.abadeksvp.vocabbackend.model.db.Language;
+import org.springframework.lang.Nullable;
+
+public interface VocabularyVersionService {
+
+    /**
+     * @param language the language to get the version for, or {@code null} for the version of the
+     *                 whole user vocabulary
+     */
+    long getVersion(String username, @Nullable Language language);
+
+    String etag(String username, @Nullable Language language, @Nullable String discriminator);
+}
@@ -0,0 +1,16 @@
+package com.abadeksvp.vocabbackend.service;
+
+import com.abadeksvp.vocabbackend.model.api.word.request.ReviewWordRequest;
+import com.abadeksvp.vocabbackend.model.api.word.request.SubmitBatchResultsRequest;
+import com.abadeksvp.vocabbackend.model.api.word.response.ReviewStateResponse;
+
+public interface WordReviewService {
+
+    ReviewStateResponse review(ReviewWordRequest request);
+
+    /**
+     * Records every answer of a study session and applies the resulting schedules and status
+     * changes in one bulk write.
+     */
+    void submitBatchResults(SubmitBatchResultsRequest request);
+}
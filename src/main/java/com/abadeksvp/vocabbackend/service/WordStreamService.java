@@ -0,0 +1,16 @@
+package com.abadeksvp.vocabbackend.service;
+
+import com.abadeksvp.vocabbackend.model.api.PageableFilter;
+import com.abadeksvp.vocabbackend.model.api.ResponseFormat;
+import com.abadeksvp.vocabbackend.model.api.word.request.WordsFilter;
+import com.abadeksvp.vocabbackend.model.db.Language;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface WordStreamService {
+
+    void streamWords(WordsFilter filter, ResponseFormat format, OutputStream out) throws IOException;
+    void streamWordById(String wordId, String fields, ResponseFormat format, OutputStream out) throws IOException;
+    void streamBatch(Language language, PageableFilter page, String fields, ResponseFormat format, OutputStream out) throws IOException;
+}
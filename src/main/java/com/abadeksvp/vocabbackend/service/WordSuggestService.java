@@ -0,0 +1,17 @@
+package com.abadeksvp.vocabbackend.service;
+
+import com.abadeksvp.vocabbackend.model.api.word.response.WordSuggestionResponse;
+import com.abadeksvp.vocabbackend.model.db.Language;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface WordSuggestService {
+
+    List<WordSuggestionResponse> suggest(String prefix, Language language, int limit);
+
+    /**
+     * @return ids of words whose title is within a small edit distance of {@code query}, closest first
+     */
+    List<UUID> findSimilar(String query, Language language, int limit);
+}
@@ -0,0 +1,11 @@
+package com.abadeksvp.vocabbackend.service;
+
+import com.abadeksvp.vocabbackend.model.api.word.response.WordChangesResponse;
+
+public interface WordSyncService {
+
+    /**
+     * Returns words changed after {@code since}, or the whole vocabulary when no token is given.
+     */
+    WordChangesResponse getChanges(String since, int limit);
+}
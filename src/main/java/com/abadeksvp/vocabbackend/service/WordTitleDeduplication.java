@@ -0,0 +1,315 @@
+package com.abadeksvp.vocabbackend.service;
+
+import com.abadeksvp.vocabbackend.mapping.TitleNormalizer;
+import com.abadeksvp.vocabbackend.model.db.Definition;
+import com.abadeksvp.vocabbackend.model.db.Word;
+import com.abadeksvp.vocabbackend.model.event.WordChangeType;
+import com.abadeksvp.vocabbackend.model.event.WordChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Makes titles unique per user and language: fills in normalized titles and deleted flags of words
+ * stored before they existed, merges duplicates into the oldest word and then creates the unique
+ * index, which could not be built while duplicates remained. This runs in the background on
+ * startups without the index, on one instance of the cluster at a time, and starts over until the
+ * index is built, since a duplicate written while merging makes the build fail.
+ */
+@Component
+@Slf4j
+public class WordTitleDeduplication {
+
+    public static final String TITLE_INDEX = "username_language_normalizedTitle";
+    private static final int BATCH_SIZE = 500;
+    private static final String LOCK = "word-title-deduplication";
+    private static final Duration LOCK_LEASE = Duration.ofMinutes(5);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+
+    private final MongoTemplate mongoTemplate;
+    private final ChangeSequenceGenerator changeSequenceGenerator;
+    private final DateTimeGenerator dateTimeGenerator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JobLockService jobLockService;
+
+    public WordTitleDeduplication(MongoTemplate mongoTemplate,
+                                  ChangeSequenceGenerator changeSequenceGenerator,
+                                  DateTimeGenerator dateTimeGenerator,
+                                  ApplicationEventPublisher eventPublisher,
+                                  JobLockService jobLockService) {
+        this.mongoTemplate = mongoTemplate;
+        this.changeSequenceGenerator = changeSequenceGenerator;
+        this.dateTimeGenerator = dateTimeGenerator;
+        this.eventPublisher = eventPublisher;
+        this.jobLockService = jobLockService;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void deduplicateOnce() {
+        if (!isIndexed()) {
+            Thread.ofVirtual().name(LOCK).start(this::deduplicateUntilIndexed);
+        }
+    }
+
+    private void deduplicateUntilIndexed() {
+        while (!isIndexed()) {
+            if (jobLockService.tryLock(LOCK, LOCK_LEASE)) {
+                try {
+                    deduplicate();
+                } catch (RuntimeException e) {
+                    log.warn("Could not make word titles unique yet, retrying in {}", RETRY_DELAY, e);
+                } finally {
+                    jobLockService.unlock(LOCK);
+                }
+                if (isIndexed()) {
+                    return;
+                }
+            }
+            try {
+                Thread.sleep(RETRY_DELAY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private boolean isIndexed() {
+        return mongoTemplate.indexOps(Word.class).getIndexInfo().stream()
+                .anyMatch(index -> index.getName().equals(TITLE_INDEX));
+    }
+
+    public void deduplicate() {
+        backfillDeletedFlags();
+        backfillNormalizedTitles();
+        mergeDuplicates();
+        mongoTemplate.indexOps(Word.class).ensureIndex(new Index()
+                .on("username", Sort.Direction.ASC)
+                .on("language", Sort.Direction.ASC)
+                .on("normalizedTitle", Sort.Direction.ASC)
+                .named(TITLE_INDEX)
+                .unique()
+                .partial(PartialIndexFilter.of(where("deleted").is(false).and("normalizedTitle").exists(true))));
+    }
+
+    /**
+     * Words stored without the flag would fall outside the partial index.
+     */
+    private void backfillDeletedFlags() {
+        long updated = mongoTemplate.updateMulti(query(where("deleted").exists(false)),
+                Update.update("deleted", false), Word.class).getModifiedCount();
+        if (updated > 0) {
+            log.info("Filled in deleted flags of {} words", updated);
+        }
+    }
+
+    private void backfillNormalizedTitles() {
+        Query missing = query(where("normalizedTitle").exists(false).and("title").exists(true));
+        missing.fields().include("title");
+        int updated = 0;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Word.class);
+        int pending = 0;
+        try (Stream<Word> words = mongoTemplate.stream(missing, Word.class)) {
+            for (Word word : (Iterable<Word>) words::iterator) {
+                bulk.updateOne(query(where("_id").is(word.getId())),
+                        Update.update("normalizedTitle", TitleNormalizer.normalize(word.getTitle())));
+                if (++pending == BATCH_SIZE) {
+                    updated += execute(bulk);
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Word.class);
+                    pending = 0;
+                }
+            }
+        }
+        if (pending > 0) {
+            updated += execute(bulk);
+        }
+        if (updated > 0) {
+            log.info("Filled in normalized titles of {} words", updated);
+        }
+    }
+
+    /**
+     * Once the index exists, a word written without a normalized title by an older instance may
+     * duplicate another one. It is left without a normalized title, outside the index.
+     */
+    private int execute(BulkOperations bulk) {
+        try {
+            return bulk.execute().getModifiedCount();
+        } catch (BulkOperationException e) {
+            log.warn("Could not fill in {} normalized titles", e.getErrors().size());
+            return e.getResult().getModifiedCount();
+        }
+    }
+
+    /**
+     * Keeps the oldest word of each duplicate group, adds the definitions of the others to it and
+     * deletes them. Groups are processed {@link #BATCH_SIZE} at a time.
+     *
+     * @return the number of words deleted
+     */
+    public int mergeDuplicates() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(where("deleted").ne(true).and("normalizedTitle").ne(null)),
+                Aggregation.sort(Sort.by("createDate")),
+                Aggregation.group("username", "language", "normalizedTitle")
+                        .push("_id").as("ids")
+                        .count().as("count"),
+                Aggregation.match(where("count").gt(1)))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        List<List<UUID>> groups = new ArrayList<>();
+        int merged = 0;
+        try (Stream<Document> duplicates = mongoTemplate.aggregateStream(aggregation, Word.class, Document.class)) {
+            for (Document group : (Iterable<Document>) duplicates::iterator) {
+                groups.add(group.getList("ids", UUID.class));
+                if (groups.size() == BATCH_SIZE) {
+                    merged += merge(groups);
+                    groups.clear();
+                    if (!jobLockService.tryLock(LOCK, LOCK_LEASE)) {
+                        throw new IllegalStateException("Lost the " + LOCK + " lock while merging");
+                    }
+                }
+            }
+        }
+        if (!groups.isEmpty()) {
+            merged += merge(groups);
+        }
+        if (merged > 0) {
+            log.info("Merged {} duplicate words", merged);
+        }
+        return merged;
+    }
+
+    /**
+     * Merges into the kept words first and only deletes the duplicates of those merged. Each word
+     * is only written if its change sequence is still the one it was loaded with, so a concurrent
+     * edit or review is never overwritten; its group is merged again on the next pass.
+     */
+    private int merge(List<List<UUID>> groups) {
+        List<UUID> ids = groups.stream().flatMap(List::stream).toList();
+        Map<UUID, Word> words = mongoTemplate.find(query(where("_id").in(ids)), Word.class).stream()
+                .collect(Collectors.toMap(Word::getId, Function.identity()));
+        Map<UUID, Long> loadedSeqs = new HashMap<>();
+        words.forEach((id, word) -> loadedSeqs.put(id, word.getChangeSeq()));
+        LocalDateTime now = dateTimeGenerator.now();
+        Map<UUID, List<Word>> duplicatesOf = new LinkedHashMap<>();
+        List<Word> kept = new ArrayList<>();
+        for (List<UUID> group : groups) {
+            List<Word> duplicates = group.stream().map(words::get).filter(word -> word != null && !word.isDeleted()).toList();
+            if (duplicates.size() < 2) {
+                continue;
+            }
+            Word keptWord = duplicates.get(0);
+            Map<String, Definition> definitions = new LinkedHashMap<>();
+            for (Word word : duplicates) {
+                for (Definition definition : word.getDefinitions() == null ? List.<Definition>of() : word.getDefinitions()) {
+                    mergeDefinition(definitions, definition);
+                }
+            }
+            keptWord.setDefinitions(new ArrayList<>(definitions.values()));
+            keptWord.setLastUpdateDate(now);
+            kept.add(keptWord);
+            duplicatesOf.put(keptWord.getId(), duplicates.subList(1, duplicates.size()));
+        }
+        Set<UUID> mergedInto = writeGuarded(kept, loadedSeqs, word -> new Update()
+                .set("definitions", word.getDefinitions())
+                .set("lastUpdateDate", word.getLastUpdateDate()));
+        List<Word> deletions = new ArrayList<>();
+        for (UUID keptId : mergedInto) {
+            for (Word duplicate : duplicatesOf.get(keptId)) {
+                duplicate.setDeleted(true);
+                duplicate.setDeletedAt(now);
+                duplicate.setDefinitions(List.of());
+                deletions.add(duplicate);
+            }
+        }
+        Set<UUID> deleted = writeGuarded(deletions, loadedSeqs, word -> new Update()
+                .set("deleted", true)
+                .set("deletedAt", word.getDeletedAt())
+                .set("definitions", word.getDefinitions()));
+        kept.stream()
+                .filter(word -> mergedInto.contains(word.getId()))
+                .forEach(word -> eventPublisher.publishEvent(WordChangedEvent.of(word, word.getLanguage(), WordChangeType.UPDATED)));
+        deletions.stream()
+                .filter(word -> deleted.contains(word.getId()))
+                .forEach(word -> eventPublisher.publishEvent(WordChangedEvent.of(word, word.getLanguage(), WordChangeType.DELETED)));
+        return deleted.size();
+    }
+
+    /**
+     * Sets the fields of each word, with a new change sequence, where it still has the sequence it
+     * was loaded with.
+     *
+     * @return the ids of the words written
+     */
+    private Set<UUID> writeGuarded(List<Word> words, Map<UUID, Long> loadedSeqs, Function<Word, Update> fields) {
+        if (words.isEmpty()) {
+            return Set.of();
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Word.class);
+        words.stream().collect(Collectors.groupingBy(Word::getUsername)).forEach((username, userWords) -> {
+            long seq = changeSequenceGenerator.reserve(username, userWords.size());
+            for (Word word : userWords) {
+                word.setChangeSeq(seq++);
+                bulk.updateOne(query(where("_id").is(word.getId()).and("changeSeq").is(loadedSeqs.get(word.getId()))),
+                        fields.apply(word).set("changeSeq", word.getChangeSeq()));
+            }
+        });
+        Set<UUID> written = words.stream().map(Word::getId).collect(Collectors.toCollection(HashSet::new));
+        if (bulk.execute().getMatchedCount() == words.size()) {
+            return written;
+        }
+        Map<UUID, Long> assigned = words.stream().collect(Collectors.toMap(Word::getId, Word::getChangeSeq));
+        Query current = query(where("_id").in(written));
+        current.fields().include("changeSeq");
+        written.clear();
+        mongoTemplate.find(current, Word.class).stream()
+                .filter(word -> assigned.get(word.getId()).equals(word.getChangeSeq()))
+                .forEach(word -> written.add(word.getId()));
+        return written;
+    }
+
+    private static void mergeDefinition(Map<String, Definition> definitions, Definition definition) {
+        String key = TitleNormalizer.normalize(definition.getDefinition());
+        Definition existing = definitions.get(key);
+        if (existing == null) {
+            List<String> examples = definition.getExamples() == null ? new ArrayList<>() : new ArrayList<>(definition.getExamples());
+            definitions.put(key, new Definition(definition.getDefinition(), examples));
+            return;
+        }
+        if (definition.getExamples() != null) {
+            definition.getExamples().stream()
+                    .filter(example -> !existing.getExamples().contains(example))
+                    .forEach(existing.getExamples()::add);
+        }
+    }
+}
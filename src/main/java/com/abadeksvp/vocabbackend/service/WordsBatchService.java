@@ -1,12 +1,38 @@
 package com.abadeksvp.vocabbackend.service;
 
+import com.abadeksvp.vocabbackend.model.BatchGenerationStrategy;
+import com.abadeksvp.vocabbackend.model.api.word.response.BatchGenerationJobResponse;
 import com.abadeksvp.vocabbackend.model.api.word.response.WordResponse;
 import com.abadeksvp.vocabbackend.model.db.Language;
 
 import java.util.List;
+import java.util.UUID;
 
 public interface WordsBatchService {
 
-    void generate(int size, Language language);
-    List<WordResponse> getBatch(Language language);
+    void generate(int size, Language language, BatchGenerationStrategy strategy);
+
+    /**
+     * Queues the generation on a bounded executor, allowing one running generation per user.
+     */
+    BatchGenerationJobResponse startGeneration(int size, Language language, BatchGenerationStrategy strategy);
+
+    BatchGenerationJobResponse getJob(UUID jobId);
+
+    /**
+     * Computes the next batch of the user with the size and strategy of the current one and stores
+     * it as pending, without touching the current batch.
+     */
+    void pregenerate(String username, Language language);
+
+    /**
+     * Drops the pending spaced repetition batch of the user, whose review schedule has just
+     * changed, and has it computed again.
+     */
+    void discardPending(String username, Language language);
+
+    /**
+     * One page of the current batch, in batch order.
+     */
+    List<WordResponse> getBatch(Language language, int page, int size);
 }
@@ -0,0 +1,165 @@
+package com.abadeksvp.vocabbackend.service.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Burkhard-Keller tree of terms under Levenshtein distance. A search for terms within distance
+ * {@code k} of a query only descends into children whose edge distance is within {@code k} of the
+ * query's distance to their parent, so most of the tree is never compared. Removed terms stay in
+ * the tree to keep routing intact; rebuild it once {@link #removed()} outgrows {@link #size()}.
+ * Not thread-safe.
+ */
+final class BkTree {
+
+    private Node root;
+    private int size;
+    private int removed;
+    private int[] previousRow = new int[16];
+    private int[] currentRow = new int[16];
+
+    void add(UUID id, String term) {
+        if (root == null) {
+            root = new Node(term, id);
+            size++;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = distance(term, node.term);
+            if (distance == 0) {
+                if (node.id == null) {
+                    removed--;
+                    size++;
+                }
+                node.id = id;
+                return;
+            }
+            Node child = node.child(distance);
+            if (child == null) {
+                node.addChild(distance, new Node(term, id));
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    void remove(String term) {
+        Node node = root;
+        while (node != null) {
+            int distance = distance(term, node.term);
+            if (distance == 0) {
+                if (node.id != null) {
+                    node.id = null;
+                    size--;
+                    removed++;
+                }
+                return;
+            }
+            node = node.child(distance);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int removed() {
+        return removed;
+    }
+
+    /**
+     * @return terms within {@code maxDistance} of {@code query}, closest first and then by term
+     */
+    List<Match> search(String query, int maxDistance) {
+        List<Match> matches = new ArrayList<>();
+        if (root == null) {
+            return matches;
+        }
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = distance(query, node.term);
+            if (distance <= maxDistance && node.id != null) {
+                matches.add(new Match(node.id, node.term, distance));
+            }
+            for (int i = 0; i < node.childCount; i++) {
+                if (Math.abs(node.distances[i] - distance) <= maxDistance) {
+                    pending.push(node.children[i]);
+                }
+            }
+        }
+        matches.sort(Comparator.comparingInt(Match::distance).thenComparing(Match::term));
+        return matches;
+    }
+
+    /**
+     * Levenshtein distance over two reused rows.
+     */
+    int distance(String a, String b) {
+        int columns = b.length() + 1;
+        if (previousRow.length < columns) {
+            previousRow = new int[columns * 2];
+            currentRow = new int[columns * 2];
+        }
+        int[] previous = previousRow;
+        int[] current = currentRow;
+        for (int j = 0; j < columns; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j < columns; j++) {
+                int substitution = previous[j - 1] + (ca == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private static final class Node {
+        private final String term;
+        private UUID id;
+        private int[] distances = new int[0];
+        private Node[] children = new Node[0];
+        private int childCount;
+
+        private Node(String term, UUID id) {
+            this.term = term;
+            this.id = id;
+        }
+
+        private Node child(int distance) {
+            for (int i = 0; i < childCount; i++) {
+                if (distances[i] == distance) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private void addChild(int distance, Node child) {
+            if (childCount == children.length) {
+                int capacity = Math.max(4, childCount * 2);
+                distances = Arrays.copyOf(distances, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            distances[childCount] = distance;
+            children[childCount++] = child;
+        }
+    }
+
+    record Match(UUID id, String term, int distance) {
+    }
+}
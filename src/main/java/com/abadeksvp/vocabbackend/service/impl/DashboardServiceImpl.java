@@ -0,0 +1,153 @@
+package com.abadeksvp.vocabbackend.service.impl;
+
+import com.abadeksvp.vocabbackend.configuration.QueryExecutionConfiguration;
+import com.abadeksvp.vocabbackend.exceptions.ApiException;
+import com.abadeksvp.vocabbackend.model.WordStatus;
+import com.abadeksvp.vocabbackend.model.api.UserResponse;
+import com.abadeksvp.vocabbackend.model.api.dashboard.DashboardResponse;
+import com.abadeksvp.vocabbackend.model.api.dashboard.DashboardSection;
+import com.abadeksvp.vocabbackend.model.api.dashboard.WordCountsResponse;
+import com.abadeksvp.vocabbackend.model.api.paging.PageableDto;
+import com.abadeksvp.vocabbackend.model.api.word.request.WordsFilter;
+import com.abadeksvp.vocabbackend.model.api.word.response.WordResponse;
+import com.abadeksvp.vocabbackend.model.db.Language;
+import com.abadeksvp.vocabbackend.model.db.Word;
+import com.abadeksvp.vocabbackend.security.SecurityUtils;
+import com.abadeksvp.vocabbackend.service.DashboardService;
+import com.abadeksvp.vocabbackend.service.UserService;
+import com.abadeksvp.vocabbackend.service.WordService;
+import com.abadeksvp.vocabbackend.service.WordsBatchService;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@Service
+@Slf4j
+public class DashboardServiceImpl implements DashboardService {
+
+    private static final int FIRST_PAGE_SIZE = 20;
+
+    private final UserService userService;
+    private final WordService wordService;
+    private final WordsBatchService wordsBatchService;
+    private final MongoTemplate mongoTemplate;
+    private final ExecutorService queryExecutor;
+    private final Duration sectionTimeout;
+
+    public DashboardServiceImpl(UserService userService,
+                                WordService wordService,
+                                WordsBatchService wordsBatchService,
+                                MongoTemplate mongoTemplate,
+                                @Qualifier(QueryExecutionConfiguration.QUERY_EXECUTOR) ExecutorService queryExecutor,
+                                @Value("${vocab.dashboard.section-timeout:2s}") Duration sectionTimeout) {
+        this.userService = userService;
+        this.wordService = wordService;
+        this.wordsBatchService = wordsBatchService;
+        this.mongoTemplate = mongoTemplate;
+        // Sections run on other threads but read the current user from the security context
+        this.queryExecutor = new DelegatingSecurityContextExecutorService(queryExecutor);
+        this.sectionTimeout = sectionTimeout;
+    }
+
+    @Override
+    public DashboardResponse getDashboard(Language language) {
+        String username = SecurityUtils.getCurrentUsername();
+        log.debug("Getting dashboard for user: {} and language: {}", username, language);
+        WordsFilter firstPage = new WordsFilter();
+        firstPage.setSize(FIRST_PAGE_SIZE);
+        firstPage.setLanguage(language);
+
+        CompletableFuture<UserResponse> user = start(() -> userService.findByUserName(username)
+                .orElseThrow(() -> new ApiException("User not found", HttpStatus.NOT_FOUND)));
+        CompletableFuture<WordCountsResponse> counts = start(() -> countWords(username));
+        CompletableFuture<PageableDto<WordResponse>> words = start(() -> wordService.getWords(firstPage));
+        CompletableFuture<List<WordResponse>> batch = start(() -> findBatch(language));
+
+        List<DashboardSection> unavailable = new ArrayList<>();
+        DashboardResponse response = DashboardResponse.builder()
+                .user(join(user, DashboardSection.USER, unavailable))
+                .counts(join(counts, DashboardSection.COUNTS, unavailable))
+                .words(join(words, DashboardSection.WORDS, unavailable))
+                .batch(join(batch, DashboardSection.BATCH, unavailable))
+                .unavailable(unavailable)
+                .build();
+        log.debug("Dashboard for user: {} assembled, unavailable sections: {}", username, unavailable);
+        return response;
+    }
+
+    /**
+     * A timed out section is reported as unavailable, but its query is not cancelled and keeps its
+     * connection until it finishes; only the counts aggregation is bounded on the server as well.
+     */
+    private <T> CompletableFuture<T> start(Supplier<T> section) {
+        return CompletableFuture.supplyAsync(section, queryExecutor)
+                .orTimeout(sectionTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private <T> T join(CompletableFuture<T> section, DashboardSection name, List<DashboardSection> unavailable) {
+        try {
+            return section.join();
+        } catch (CompletionException e) {
+            log.warn("Dashboard section {} is unavailable", name, e.getCause());
+            unavailable.add(name);
+            return null;
+        }
+    }
+
+    private List<WordResponse> findBatch(Language language) {
+        try {
+            return wordsBatchService.getBatch(language, 0, FIRST_PAGE_SIZE);
+        } catch (ApiException e) {
+            if (e.getHttpStatus() == HttpStatus.NOT_FOUND) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    private WordCountsResponse countWords(String username) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(where("username").is(username).and("deleted").ne(true)),
+                Aggregation.group("status", "language").count().as("count"))
+                .withOptions(AggregationOptions.builder().maxTime(sectionTimeout).build());
+        Map<WordStatus, Long> byStatus = new EnumMap<>(WordStatus.class);
+        Map<Language, Long> byLanguage = new EnumMap<>(Language.class);
+        long total = 0;
+        for (Document group : mongoTemplate.aggregate(aggregation, Word.class, Document.class)) {
+            Document id = group.get("_id", Document.class);
+            long count = group.get("count", Number.class).longValue();
+            if (id.getString("status") != null) {
+                byStatus.merge(WordStatus.valueOf(id.getString("status")), count, Long::sum);
+            }
+            if (id.getString("language") != null) {
+                byLanguage.merge(Language.valueOf(id.getString("language")), count, Long::sum);
+            }
+            total += count;
+        }
+        return WordCountsResponse.builder()
+                .total(total)
+                .byStatus(byStatus)
+                .byLanguage(byLanguage)
+                .build();
+    }
+}
@@ -0,0 +1,205 @@
+package com.abadeksvp.vocabbackend.service.impl;
+
+import com.abadeksvp.vocabbackend.exceptions.ApiException;
+import com.abadeksvp.vocabbackend.model.db.IdempotencyRecord;
+import com.abadeksvp.vocabbackend.repository.IdempotencyRecordRepository;
+import com.abadeksvp.vocabbackend.security.SecurityUtils;
+import com.abadeksvp.vocabbackend.service.DateTimeGenerator;
+import com.abadeksvp.vocabbackend.service.IdempotencyService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@Service
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final DateTimeGenerator dateTimeGenerator;
+    private final Duration pendingLease;
+    /**
+     * Completed records only; they never change, but are dropped here once Mongo would have
+     * expired them.
+     */
+    private final Map<String, IdempotencyRecord> completed;
+
+    public IdempotencyServiceImpl(IdempotencyRecordRepository idempotencyRecordRepository,
+                                  MongoTemplate mongoTemplate,
+                                  ObjectMapper objectMapper,
+                                  DateTimeGenerator dateTimeGenerator,
+                                  @Value("${vocab.idempotency.cache-size:10000}") int cacheSize,
+                                  @Value("${vocab.idempotency.pending-lease:60s}") Duration pendingLease) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.dateTimeGenerator = dateTimeGenerator;
+        this.pendingLease = pendingLease;
+        this.completed = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    @Override
+    public <T> T execute(String key, Object request, Class<T> responseType, Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ApiException("Idempotency key must be 1 to " + MAX_KEY_LENGTH + " characters", HttpStatus.BAD_REQUEST);
+        }
+        String id = SecurityUtils.getCurrentUsername() + ":" + key;
+        String fingerprint = fingerprint(request);
+        LocalDateTime now = dateTimeGenerator.now();
+        IdempotencyRecord existing = find(id, now);
+        if (existing != null && !isReleased(existing, now)) {
+            return replay(existing, fingerprint, responseType);
+        }
+        IdempotencyRecord record = IdempotencyRecord.builder()
+                .id(id)
+                .fingerprint(fingerprint)
+                .createDate(now)
+                .build();
+        if (existing == null) {
+            try {
+                idempotencyRecordRepository.insert(record);
+            } catch (DuplicateKeyException e) {
+                // A concurrent retry got here first
+                return replay(find(id, now), fingerprint, responseType);
+            }
+        } else if (!takeOver(existing, record)) {
+            return replay(find(id, now), fingerprint, responseType);
+        }
+
+        T response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            // Nothing was done, so a retry may run the request again
+            idempotencyRecordRepository.deleteById(id);
+            throw e;
+        }
+        record.setCompleted(true);
+        record.setResponse(toJson(response));
+        try {
+            idempotencyRecordRepository.save(record);
+        } catch (RuntimeException e) {
+            // The request itself succeeded; the pending record is released once its lease runs out
+            log.warn("Could not store response for idempotency key: {}", id, e);
+            return response;
+        }
+        cache(record);
+        log.debug("Stored response for idempotency key: {}", id);
+        return response;
+    }
+
+    private IdempotencyRecord find(String id, LocalDateTime now) {
+        synchronized (completed) {
+            IdempotencyRecord record = completed.get(id);
+            if (record != null && !isExpired(record, now)) {
+                return record;
+            }
+            completed.remove(id);
+        }
+        IdempotencyRecord record = idempotencyRecordRepository.findById(id).orElse(null);
+        if (record != null && record.isCompleted() && !isExpired(record, now)) {
+            cache(record);
+        }
+        return record;
+    }
+
+    /**
+     * An expired record may outlive its TTL until Mongo removes it, and a pending one whose lease
+     * ran out belongs to a request that died before storing its response. Either frees the key.
+     */
+    private boolean isReleased(IdempotencyRecord record, LocalDateTime now) {
+        return isExpired(record, now)
+                || !record.isCompleted() && !record.getCreateDate().plus(pendingLease).isAfter(now);
+    }
+
+    private static boolean isExpired(IdempotencyRecord record, LocalDateTime now) {
+        return !record.getCreateDate().plusDays(IdempotencyRecord.TTL_DAYS).isAfter(now);
+    }
+
+    /**
+     * Replaces a released record unless a concurrent retry replaced it first.
+     */
+    private boolean takeOver(IdempotencyRecord released, IdempotencyRecord record) {
+        Query query = query(where("_id").is(released.getId()).and("createDate").is(released.getCreateDate()));
+        Update update = new Update()
+                .set("fingerprint", record.getFingerprint())
+                .set("completed", false)
+                .unset("response")
+                .set("createDate", record.getCreateDate());
+        return mongoTemplate.updateFirst(query, update, IdempotencyRecord.class).getModifiedCount() == 1;
+    }
+
+    private void cache(IdempotencyRecord record) {
+        synchronized (completed) {
+            completed.put(record.getId(), record);
+        }
+    }
+
+    private <T> T replay(IdempotencyRecord record, String fingerprint, Class<T> responseType) {
+        if (record == null) {
+            throw new ApiException("Request with this idempotency key failed, retry it", HttpStatus.CONFLICT);
+        }
+        if (!record.getFingerprint().equals(fingerprint)) {
+            throw new ApiException("Idempotency key was used for a different request", HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+        if (!record.isCompleted()) {
+            throw new ApiException("Request with this idempotency key is still in progress", HttpStatus.CONFLICT);
+        }
+        log.debug("Replaying stored response for idempotency key: {}", record.getId());
+        try {
+            return objectMapper.readValue(record.getResponse(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response cannot be read", e);
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getClass().getName().getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Request fingerprint cannot be computed", e);
+        }
+    }
+
+    private String toJson(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Response cannot be stored", e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.abadeksvp.vocabbackend.service.impl;
+
+import com.abadeksvp.vocabbackend.model.db.ChangeSequence;
+import com.abadeksvp.vocabbackend.service.ChangeSequenceGenerator;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Hands out sequence numbers from one counter document per user. Words are written after their
+ * numbers are reserved, so a later number can become visible before an earlier one; each
+ * reservation is therefore remembered, by database time, for {@code vocab.sync.safety-lag}, the
+ * longest a write may take after reserving, and numbers from the oldest remembered reservation on
+ * are not settled yet.
+ */
+@Service
+public class MongoChangeSequenceGenerator implements ChangeSequenceGenerator {
+
+    private final MongoTemplate mongoTemplate;
+    private final long safetyLagMillis;
+
+    public MongoChangeSequenceGenerator(MongoTemplate mongoTemplate,
+                                        @Value("${vocab.sync.safety-lag:5s}") Duration safetyLag) {
+        this.mongoTemplate = mongoTemplate;
+        this.safetyLagMillis = safetyLag.toMillis();
+    }
+
+    @Override
+    public long next(String username) {
+        return reserve(username, 1);
+    }
+
+    @Override
+    public long reserve(String username, int count) {
+        Document previousSeq = new Document("$ifNull", List.of("$seq", 0L));
+        Document reservation = new Document("first", new Document("$add", List.of(previousSeq, 1L)))
+                .append("at", "$$NOW");
+        Document update = new Document("$set", new Document("seq", new Document("$add", List.of(previousSeq, (long) count)))
+                .append("reservations", new Document("$concatArrays", List.of(pendingReservations(), List.of(reservation)))));
+        Document sequence = collection().findOneAndUpdate(Filters.eq("_id", username), List.of(update),
+                new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER));
+        return sequence.get("seq", Number.class).longValue() - count + 1;
+    }
+
+    @Override
+    public long settled(String username) {
+        Document pendingFirst = new Document("$min", new Document("$map", new Document("input", pendingReservations())
+                .append("in", "$$this.first")));
+        Document project = new Document("$project", new Document("seq", 1).append("pendingFirst", pendingFirst));
+        Document sequence = collection().aggregate(List.of(new Document("$match", new Document("_id", username)), project))
+                .first();
+        if (sequence == null) {
+            return 0;
+        }
+        Number pending = sequence.get("pendingFirst", Number.class);
+        return pending != null ? pending.longValue() - 1 : sequence.get("seq", Number.class).longValue();
+    }
+
+    private Document pendingReservations() {
+        Document recent = new Document("$gt", List.of("$$this.at", new Document("$subtract", List.of("$$NOW", safetyLagMillis))));
+        return new Document("$filter", new Document("input", new Document("$ifNull", List.of("$reservations", List.of())))
+                .append("cond", recent));
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(ChangeSequence.class));
+    }
+}
@@ -0,0 +1,59 @@
+package com.abadeksvp.vocabbackend.service.impl;
+
+import com.abadeksvp.vocabbackend.model.db.JobLock;
+import com.abadeksvp.vocabbackend.service.JobLockService;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.Updates;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Leases locks by database time, in one document per job, so clocks of the instances do not have
+ * to agree.
+ */
+@Service
+@Slf4j
+public class MongoJobLockService implements JobLockService {
+
+    private final MongoTemplate mongoTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public MongoJobLockService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public boolean tryLock(String name, Duration lease) {
+        Document free = new Document("$or", List.of(
+                new Document("$lt", List.of(new Document("$ifNull", List.of("$lockedUntil", new Date(0))), "$$NOW")),
+                new Document("$eq", List.of("$owner", instanceId))));
+        Document until = new Document("$add", List.of("$$NOW", lease.toMillis()));
+        Document update = new Document("$set", new Document("owner", new Document("$cond", List.of(free, instanceId, "$owner")))
+                .append("lockedUntil", new Document("$cond", List.of(free, until, "$lockedUntil"))));
+        Document lock = collection().findOneAndUpdate(Filters.eq("_id", name), List.of(update),
+                new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER));
+        boolean acquired = lock != null && instanceId.equals(lock.getString("owner"));
+        log.debug("Lock {} acquired: {}", name, acquired);
+        return acquired;
+    }
+
+    @Override
+    public void unlock(String name) {
+        collection().updateOne(Filters.and(Filters.eq("_id", name), Filters.eq("owner", instanceId)),
+                Updates.unset("lockedUntil"));
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(JobLock.class));
+    }
+}
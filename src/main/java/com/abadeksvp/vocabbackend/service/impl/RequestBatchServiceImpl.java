@@ -0,0 +1,396 @@
+package com.abadeksvp.vocabbackend.service.impl;
+
+import com.abadeksvp.vocabbackend.exceptions.ErrorResponse;
+import com.abadeksvp.vocabbackend.mapping.creator.WordCreator;
+import com.abadeksvp.vocabbackend.mapping.mapper.WordToWordResponseMapper;
+import com.abadeksvp.vocabbackend.mapping.updater.WordUpdater;
+import com.abadeksvp.vocabbackend.model.api.batch.BatchOperationRequest;
+import com.abadeksvp.vocabbackend.model.api.batch.BatchOperationResult;
+import com.abadeksvp.vocabbackend.model.api.batch.BatchOperationType;
+import com.abadeksvp.vocabbackend.model.api.batch.BatchRequest;
+import com.abadeksvp.vocabbackend.model.api.batch.BatchResponse;
+import com.abadeksvp.vocabbackend.model.db.Language;
+import com.abadeksvp.vocabbackend.model.db.Word;
+import com.abadeksvp.vocabbackend.model.event.WordChangeType;
+import com.abadeksvp.vocabbackend.security.SecurityUtils;
+import com.abadeksvp.vocabbackend.service.ChangeSequenceGenerator;
+import com.abadeksvp.vocabbackend.service.DateTimeGenerator;
+import com.abadeksvp.vocabbackend.service.RequestBatchService;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Runs batch operations in request order. Each run of consecutive operations of the same type is
+ * executed together: reads as a single {@code $in} query and writes as a single bulk write, so a
+ * batch costs a few database round trips per run rather than a few per operation.
+ */
+@Service
+@Slf4j
+public class RequestBatchServiceImpl implements RequestBatchService {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final WordCreator wordCreator;
+    private final WordUpdater wordUpdater;
+    private final WordToWordResponseMapper toWordResponseMapper;
+    private final ChangeSequenceGenerator changeSequenceGenerator;
+    private final DateTimeGenerator dateTimeGenerator;
+    private final WordChanges wordChanges;
+
+    public RequestBatchServiceImpl(MongoTemplate mongoTemplate,
+                                   WordCreator wordCreator,
+                                   WordUpdater wordUpdater,
+                                   WordToWordResponseMapper toWordResponseMapper,
+                                   ChangeSequenceGenerator changeSequenceGenerator,
+                                   DateTimeGenerator dateTimeGenerator,
+                                   WordChanges wordChanges) {
+        this.mongoTemplate = mongoTemplate;
+        this.wordCreator = wordCreator;
+        this.wordUpdater = wordUpdater;
+        this.toWordResponseMapper = toWordResponseMapper;
+        this.changeSequenceGenerator = changeSequenceGenerator;
+        this.dateTimeGenerator = dateTimeGenerator;
+        this.wordChanges = wordChanges;
+    }
+
+    @Override
+    public BatchResponse execute(BatchRequest request) {
+        String username = SecurityUtils.getCurrentUsername();
+        List<BatchOperationRequest> operations = request.getOperations();
+        log.debug("Executing batch of {} operations for user: {}", operations.size(), username);
+        List<BatchOperationResult> results = new ArrayList<>(operations.size());
+        int start = 0;
+        while (start < operations.size()) {
+            BatchOperationType type = operations.get(start).getOp();
+            int end = start + 1;
+            while (end < operations.size() && operations.get(end).getOp() == type) {
+                end++;
+            }
+            List<BatchOperationRequest> run = operations.subList(start, end);
+            results.addAll(switch (type) {
+                case CREATE -> create(username, run);
+                case UPDATE -> update(username, run);
+                case CHANGE_STATUS -> changeStatus(username, run);
+                case DELETE -> delete(username, run);
+                case GET -> get(username, run);
+            });
+            start = end;
+        }
+        log.debug("Batch of {} operations executed for user: {}", operations.size(), username);
+        return BatchResponse.builder()
+                .results(results)
+                .build();
+    }
+
+    private List<BatchOperationResult> create(String username, List<BatchOperationRequest> run) {
+        BatchOperationResult[] results = new BatchOperationResult[run.size()];
+        List<Word> candidates = new ArrayList<>();
+        List<Integer> candidatePositions = new ArrayList<>();
+        for (int i = 0; i < run.size(); i++) {
+            if (run.get(i).getCreate() == null) {
+                results[i] = missingPayload();
+                continue;
+            }
+            candidates.add(wordCreator.create(run.get(i).getCreate()));
+            candidatePositions.add(i);
+        }
+        Set<Integer> taken = wordChanges.findTakenTitles(username, candidates);
+        List<Word> words = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (taken.contains(i)) {
+                results[candidatePositions.get(i)] = titleTaken();
+            } else {
+                words.add(candidates.get(i));
+                positions.add(candidatePositions.get(i));
+            }
+        }
+        if (!words.isEmpty()) {
+            long seq = changeSequenceGenerator.reserve(username, words.size());
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Word.class);
+            for (int i = 0; i < words.size(); i++) {
+                words.get(i).setChangeSeq(seq + i);
+                bulk.insert(words.get(i));
+            }
+            Map<Integer, BulkWriteError> errors = executeBulk(bulk);
+            for (int i = 0; i < words.size(); i++) {
+                BulkWriteError error = errors.get(i);
+                if (error != null) {
+                    results[positions.get(i)] = failed(error);
+                    continue;
+                }
+                wordChanges.written(words.get(i), WordChangeType.CREATED);
+                results[positions.get(i)] = ok(words.get(i));
+            }
+        }
+        return List.of(results);
+    }
+
+    private List<BatchOperationResult> update(String username, List<BatchOperationRequest> run) {
+        return updateAll(username, run,
+                operation -> operation.getUpdate() == null ? null : operation.getUpdate().getId(),
+                (operation, existing) -> wordUpdater.update(operation.getUpdate(), existing),
+                WordChangeType.UPDATED,
+                this::notFound);
+    }
+
+    private List<BatchOperationResult> changeStatus(String username, List<BatchOperationRequest> run) {
+        return updateAll(username, run,
+                operation -> operation.getChangeStatus() == null ? null : operation.getChangeStatus().getId(),
+                (operation, word) -> {
+                    word.setStatus(operation.getChangeStatus().getStatus());
+                    return word;
+                },
+                WordChangeType.STATUS_CHANGED,
+                this::notFound);
+    }
+
+    private List<BatchOperationResult> delete(String username, List<BatchOperationRequest> run) {
+        return updateAll(username, run, BatchOperationRequest::getId,
+                (operation, word) -> {
+                    word.setDeleted(true);
+                    word.setDeletedAt(dateTimeGenerator.now());
+                    word.setDefinitions(List.of());
+                    return word;
+                },
+                WordChangeType.DELETED,
+                // Deleting a missing word succeeds, the same as DELETE /v1/words/{wordId}
+                () -> BatchOperationResult.builder().status(HttpStatus.OK.value()).build());
+    }
+
+    private List<BatchOperationResult> get(String username, List<BatchOperationRequest> run) {
+        Map<UUID, Word> words = findActive(username, run.stream().map(BatchOperationRequest::getId).toList());
+        return run.stream()
+                .map(operation -> {
+                    if (operation.getId() == null) {
+                        return missingPayload();
+                    }
+                    Word word = words.get(operation.getId());
+                    return word == null ? notFound() : ok(word);
+                })
+                .toList();
+    }
+
+    /**
+     * Loads the words a run refers to with one query and applies the operations in order, so later
+     * operations on a word see the changes of earlier ones. Each changed word is then written once,
+     * in its final state, with a single bulk write that only sets the fields the operation type
+     * changes, so a review written meanwhile is kept. A word whose change sequence moved since it
+     * was loaded is left alone and reported as a conflict, as is an update to a title that an
+     * earlier word of the run or another stored word already has.
+     */
+    private List<BatchOperationResult> updateAll(String username,
+                                                 List<BatchOperationRequest> run,
+                                                 Function<BatchOperationRequest, UUID> idOf,
+                                                 WordChange change,
+                                                 WordChangeType changeType,
+                                                 Supplier<BatchOperationResult> whenMissing) {
+        BatchOperationResult[] results = new BatchOperationResult[run.size()];
+        Map<UUID, Word> words = findActive(username, run.stream().map(idOf).toList());
+        Map<UUID, Long> loadedSeqs = new HashMap<>();
+        Map<UUID, Language> loadedLanguages = new HashMap<>();
+        words.forEach((id, word) -> {
+            loadedSeqs.put(id, word.getChangeSeq());
+            loadedLanguages.put(id, word.getLanguage());
+        });
+        Map<UUID, Word> changed = new LinkedHashMap<>();
+        Map<UUID, List<Integer>> positions = new HashMap<>();
+        for (int i = 0; i < run.size(); i++) {
+            UUID id = idOf.apply(run.get(i));
+            if (id == null) {
+                results[i] = missingPayload();
+                continue;
+            }
+            Word existing = words.get(id);
+            if (existing == null) {
+                results[i] = whenMissing.get();
+                continue;
+            }
+            Word word = change.apply(run.get(i), existing);
+            if (word.isDeleted()) {
+                words.remove(id);
+            } else {
+                words.put(id, word);
+            }
+            changed.put(id, word);
+            positions.computeIfAbsent(id, key -> new ArrayList<>()).add(i);
+            // Mapped now, as later operations in the run may still change the same word
+            results[i] = ok(word);
+        }
+        if (changeType == WordChangeType.UPDATED) {
+            List<Word> retitled = new ArrayList<>(changed.values());
+            for (int taken : wordChanges.findTakenTitles(username, retitled)) {
+                UUID id = retitled.get(taken).getId();
+                changed.remove(id);
+                positions.get(id).forEach(position -> results[position] = titleTaken());
+            }
+        }
+        if (changed.isEmpty()) {
+            return List.of(results);
+        }
+        long seq = changeSequenceGenerator.reserve(username, changed.size());
+        List<Word> updates = new ArrayList<>(changed.values());
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Word.class);
+        for (int i = 0; i < updates.size(); i++) {
+            Word word = updates.get(i);
+            word.setChangeSeq(seq + i);
+            bulk.updateOne(query(where("_id").is(word.getId()).and("changeSeq").is(loadedSeqs.get(word.getId()))),
+                    changedFields(word, changeType));
+        }
+        BulkWrite write = executeUpdates(bulk, updates.size());
+        Set<UUID> stale = write.matched() == updates.size() - write.errors().size()
+                ? Set.of()
+                : findStale(updates, write.errors());
+        for (int i = 0; i < updates.size(); i++) {
+            UUID id = updates.get(i).getId();
+            BulkWriteError error = write.errors().get(i);
+            if (error != null) {
+                positions.get(id).forEach(position -> results[position] = failed(error));
+            } else if (stale.contains(id)) {
+                positions.get(id).forEach(position -> results[position] = error(HttpStatus.CONFLICT, "Word was changed concurrently"));
+            } else {
+                wordChanges.written(updates.get(i), changeType);
+                if (loadedLanguages.get(id) != updates.get(i).getLanguage()) {
+                    wordChanges.movedFrom(updates.get(i), loadedLanguages.get(id));
+                }
+            }
+        }
+        return List.of(results);
+    }
+
+    private static Update changedFields(Word word, WordChangeType changeType) {
+        Update update = Update.update("changeSeq", word.getChangeSeq());
+        switch (changeType) {
+            case UPDATED -> update
+                    .set("title", word.getTitle())
+                    .set("normalizedTitle", word.getNormalizedTitle())
+                    .set("transcription", word.getTranscription())
+                    .set("part", word.getPart())
+                    .set("status", word.getStatus())
+                    .set("language", word.getLanguage())
+                    .set("definitions", word.getDefinitions())
+                    .set("lastUpdateDate", word.getLastUpdateDate());
+            case STATUS_CHANGED -> update.set("status", word.getStatus());
+            case DELETED -> update
+                    .set("deleted", true)
+                    .set("deletedAt", word.getDeletedAt())
+                    .set("definitions", word.getDefinitions());
+            default -> throw new IllegalArgumentException("Unexpected change type: " + changeType);
+        }
+        return update;
+    }
+
+    /**
+     * Words the bulk write did not match: their change sequence is not the one they were given.
+     */
+    private Set<UUID> findStale(List<Word> updates, Map<Integer, BulkWriteError> errors) {
+        Map<UUID, Long> expected = new HashMap<>();
+        for (int i = 0; i < updates.size(); i++) {
+            if (!errors.containsKey(i)) {
+                expected.put(updates.get(i).getId(), updates.get(i).getChangeSeq());
+            }
+        }
+        Query written = query(where("_id").in(expected.keySet()));
+        written.fields().include("changeSeq");
+        Set<UUID> stale = new HashSet<>(expected.keySet());
+        mongoTemplate.find(written, Word.class).stream()
+                .filter(word -> expected.get(word.getId()).equals(word.getChangeSeq()))
+                .forEach(word -> stale.remove(word.getId()));
+        return stale;
+    }
+
+    private Map<UUID, Word> findActive(String username, List<UUID> ids) {
+        List<UUID> distinctIds = ids.stream().filter(id -> id != null).distinct().toList();
+        Map<UUID, Word> words = new HashMap<>();
+        if (distinctIds.isEmpty()) {
+            return words;
+        }
+        mongoTemplate.find(query(where("_id").in(distinctIds).and("username").is(username).and("deleted").ne(true)), Word.class)
+                .forEach(word -> words.put(word.getId(), word));
+        return words;
+    }
+
+    private Map<Integer, BulkWriteError> executeBulk(BulkOperations bulk) {
+        try {
+            bulk.execute();
+            return Map.of();
+        } catch (BulkOperationException e) {
+            log.debug("Bulk write finished with {} errors", e.getErrors().size());
+            Map<Integer, BulkWriteError> errors = new LinkedHashMap<>();
+            e.getErrors().forEach(error -> errors.put(error.getIndex(), error));
+            return errors;
+        }
+    }
+
+    private BulkWrite executeUpdates(BulkOperations bulk, int size) {
+        try {
+            return new BulkWrite(bulk.execute().getMatchedCount(), Map.of());
+        } catch (BulkOperationException e) {
+            log.debug("Bulk write of {} updates finished with {} errors", size, e.getErrors().size());
+            Map<Integer, BulkWriteError> errors = new LinkedHashMap<>();
+            e.getErrors().forEach(error -> errors.put(error.getIndex(), error));
+            return new BulkWrite(e.getResult().getMatchedCount(), errors);
+        }
+    }
+
+    private BatchOperationResult ok(Word word) {
+        return BatchOperationResult.builder()
+                .status(HttpStatus.OK.value())
+                .word(word.isDeleted() ? null : toWordResponseMapper.map(word))
+                .build();
+    }
+
+    private BatchOperationResult failed(BulkWriteError error) {
+        HttpStatus status = error.getCode() == DUPLICATE_KEY ? HttpStatus.CONFLICT : HttpStatus.INTERNAL_SERVER_ERROR;
+        return error(status, error.getCode() == DUPLICATE_KEY ? "Word already exists" : "Write failed");
+    }
+
+    private BatchOperationResult titleTaken() {
+        return error(HttpStatus.CONFLICT, "Word already exists");
+    }
+
+    private BatchOperationResult notFound() {
+        return error(HttpStatus.NOT_FOUND, "Word not found");
+    }
+
+    private BatchOperationResult missingPayload() {
+        return error(HttpStatus.BAD_REQUEST, "Operation payload is missing");
+    }
+
+    private BatchOperationResult error(HttpStatus status, String message) {
+        return BatchOperationResult.builder()
+                .status(status.value())
+                .error(new ErrorResponse(List.of(message)))
+                .build();
+    }
+
+    private record BulkWrite(int matched, Map<Integer, BulkWriteError> errors) {
+    }
+
+    @FunctionalInterface
+    private interface WordChange {
+        Word apply(BatchOperationRequest operation, Word word);
+    }
+}
@@ -0,0 +1,180 @@
+package com.abadeksvp.vocabbackend.service.impl;
+
+import com.abadeksvp.vocabbackend.exceptions.ApiException;
+import com.abadeksvp.vocabbackend.model.WordStatus;
+import com.abadeksvp.vocabbackend.model.api.stats.DailyReviewStatsResponse;
+import com.abadeksvp.vocabbackend.model.api.stats.ReviewStatsResponse;
+import com.abadeksvp.vocabbackend.model.db.Language;
+import com.abadeksvp.vocabbackend.model.db.ReviewDailyStats;
+import com.abadeksvp.vocabbackend.model.db.ReviewEvent;
+import com.abadeksvp.vocabbackend.security.SecurityUtils;
+import com.abadeksvp.vocabbackend.service.DateTimeGenerator;
+import com.abadeksvp.vocabbackend.service.ReviewHistoryService;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@Service
+@Slf4j
+public class ReviewHistoryServiceImpl implements ReviewHistoryService {
+
+    private static final int MAX_DAYS = 366;
+
+    private final MongoTemplate mongoTemplate;
+    private final DateTimeGenerator dateTimeGenerator;
+
+    public ReviewHistoryServiceImpl(MongoTemplate mongoTemplate, DateTimeGenerator dateTimeGenerator) {
+        this.mongoTemplate = mongoTemplate;
+        this.dateTimeGenerator = dateTimeGenerator;
+    }
+
+    /**
+     * Inserting into a missing collection would create a regular one, so the time-series collection
+     * is created up front.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void createEventCollection() {
+        if (!mongoTemplate.collectionExists(ReviewEvent.class)) {
+            mongoTemplate.createCollection(ReviewEvent.class);
+            log.info("Created time-series collection {}", mongoTemplate.getCollectionName(ReviewEvent.class));
+        }
+    }
+
+    @Override
+    public void record(List<ReviewEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        mongoTemplate.insertAll(events);
+        Map<RollupKey, List<ReviewEvent>> byDay = events.stream()
+                .collect(Collectors.groupingBy(RollupKey::of));
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ReviewDailyStats.class);
+        byDay.forEach((key, dayEvents) -> bulk.upsert(key.toQuery(), new Update()
+                .inc("reviews", dayEvents.size())
+                .inc("correct", dayEvents.stream().filter(ReviewEvent::isCorrect).count())
+                .inc("learned", dayEvents.stream().filter(ReviewEvent::isNewlyLearned).count())));
+        bulk.execute();
+        log.debug("Recorded {} review events into {} daily rollups", events.size(), byDay.size());
+    }
+
+    @Override
+    public ReviewStatsResponse getStats(Language language, int days) {
+        if (days <= 0 || days > MAX_DAYS) {
+            throw new ApiException("Days must be between 1 and " + MAX_DAYS, HttpStatus.BAD_REQUEST);
+        }
+        String username = SecurityUtils.getCurrentUsername();
+        LocalDate to = dateTimeGenerator.now().toLocalDate();
+        LocalDate from = to.minusDays(days - 1);
+        log.debug("Getting review stats for user: {}, language: {}, from: {}", username, language, from);
+        Query query = query(where("username").is(username)
+                .and("language").is(language)
+                .and("day").gte(from.toString()))
+                .with(Sort.by("day"));
+        Map<String, ReviewDailyStats> rollups = mongoTemplate.find(query, ReviewDailyStats.class).stream()
+                .collect(Collectors.toMap(ReviewDailyStats::getDay, Function.identity()));
+
+        List<DailyReviewStatsResponse> daily = new ArrayList<>(days);
+        long reviews = 0;
+        long correct = 0;
+        long learned = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            ReviewDailyStats rollup = rollups.get(day.toString());
+            if (rollup == null) {
+                daily.add(DailyReviewStatsResponse.builder().day(day).build());
+                continue;
+            }
+            daily.add(DailyReviewStatsResponse.builder()
+                    .day(day)
+                    .reviews(rollup.getReviews())
+                    .correctRate(rate(rollup.getCorrect(), rollup.getReviews()))
+                    .learned(rollup.getLearned())
+                    .build());
+            reviews += rollup.getReviews();
+            correct += rollup.getCorrect();
+            learned += rollup.getLearned();
+        }
+        return ReviewStatsResponse.builder()
+                .language(language)
+                .reviews(reviews)
+                .correctRate(rate(correct, reviews))
+                .learned(learned)
+                .days(daily)
+                .build();
+    }
+
+    /**
+     * Recomputes the rollups from the events and merges them over the stored ones in place, so readers
+     * never see a user without stats while this runs.
+     */
+    @Override
+    public void rebuildRollups() {
+        String username = SecurityUtils.getCurrentUsername();
+        log.debug("Rebuilding review rollups for user: {}", username);
+        String zone = ZoneId.systemDefault().getId();
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("meta.username", username)),
+                new Document("$group", new Document("_id", new Document("language", "$meta.language")
+                        .append("day", new Document("$dateToString", new Document("format", "%Y-%m-%d")
+                                .append("date", "$reviewedAt")
+                                .append("timezone", zone))))
+                        .append("reviews", new Document("$sum", 1))
+                        .append("correct", new Document("$sum", new Document("$cond",
+                                List.of(new Document("$gte", List.of("$quality", 3)), 1, 0))))
+                        .append("learned", new Document("$sum", new Document("$cond", List.of(
+                                new Document("$and", List.of(
+                                        new Document("$eq", List.of("$statusAfter", WordStatus.LEARNED.name())),
+                                        new Document("$ne", List.of("$statusBefore", WordStatus.LEARNED.name())))),
+                                1, 0))))),
+                new Document("$project", new Document("_id", 0)
+                        .append("username", new Document("$literal", username))
+                        .append("language", "$_id.language")
+                        .append("day", "$_id.day")
+                        .append("reviews", 1)
+                        .append("correct", 1)
+                        .append("learned", 1)),
+                new Document("$merge", new Document("into", mongoTemplate.getCollectionName(ReviewDailyStats.class))
+                        .append("on", List.of("username", "language", "day"))
+                        .append("whenMatched", "merge")
+                        .append("whenNotMatched", "insert"))
+        );
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(ReviewEvent.class))
+                .aggregate(pipeline)
+                .toCollection();
+        log.info("Rebuilt daily review rollups for user {}", username);
+    }
+
+    private static double rate(long correct, long reviews) {
+        return reviews == 0 ? 0 : (double) correct / reviews;
+    }
+
+    private record RollupKey(String username, Language language, String day) {
+
+        private static RollupKey of(ReviewEvent event) {
+            return new RollupKey(event.getMeta().getUsername(), event.getMeta().getLanguage(),
+                    event.getReviewedAt().toLocalDate().toString());
+        }
+
+        private Query toQuery() {
+            return query(where("username").is(username).and("language").is(language).and("day").is(day));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.abadeksvp.vocabbackend.service.impl;
+
+import com.abadeksvp.vocabbackend.model.db.ReviewState;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * SM-2: answers graded 0 to 5, where anything below 3 starts the word over.
+ */
+@Service
+public class ReviewScheduler {
+
+    private static final int MAX_QUALITY = 5;
+    private static final int PASSING_QUALITY = 3;
+    private static final double MIN_EASE = 1.3;
+    private static final int FIRST_INTERVAL_DAYS = 1;
+    private static final int SECOND_INTERVAL_DAYS = 6;
+
+    public ReviewState next(@Nullable ReviewState current, int quality, LocalDateTime now) {
+        ReviewState state = current != null ? current : ReviewState.initial(now);
+        int repetitions;
+        int interval;
+        if (quality < PASSING_QUALITY) {
+            repetitions = 0;
+            interval = FIRST_INTERVAL_DAYS;
+        } else {
+            repetitions = state.getRepetitions() + 1;
+            interval = switch (repetitions) {
+                case 1 -> FIRST_INTERVAL_DAYS;
+                case 2 -> SECOND_INTERVAL_DAYS;
+                default -> (int) Math.round(state.getInterval() * state.getEase());
+            };
+        }
+        int missed = MAX_QUALITY - quality;
+        double ease = Math.max(MIN_EASE, state.getEase() + 0.1 - missed * (0.08 + missed * 0.02));
+        return ReviewState.builder()
+                .ease(ease)
+                .interval(interval)
+                .repetitions(repetitions)
+                .dueAt(now.plusDays(interval))
+                .lastReviewedAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,160 @@
+package com.abadeksvp.vocabbackend.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Immutable list of word titles sorted by normalized title, with the ids in parallel primitive
+ * arrays, so completing a prefix is a binary search followed by a short scan. Changes return a
+ * new index and leave this one to readers that still hold it.
+ */
+final class TitleIndex {
+
+    private static final TitleIndex EMPTY = new TitleIndex(new String[0], new String[0], new long[0], new long[0]);
+
+    private final String[] normalizedTitles;
+    private final String[] titles;
+    private final long[] mostSignificant;
+    private final long[] leastSignificant;
+
+    private TitleIndex(String[] normalizedTitles, String[] titles, long[] mostSignificant, long[] leastSignificant) {
+        this.normalizedTitles = normalizedTitles;
+        this.titles = titles;
+        this.mostSignificant = mostSignificant;
+        this.leastSignificant = leastSignificant;
+    }
+
+    static TitleIndex of(List<Entry> entries) {
+        if (entries.isEmpty()) {
+            return EMPTY;
+        }
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparing(Entry::normalizedTitle));
+        int size = sorted.size();
+        String[] normalizedTitles = new String[size];
+        String[] titles = new String[size];
+        long[] mostSignificant = new long[size];
+        long[] leastSignificant = new long[size];
+        for (int i = 0; i < size; i++) {
+            Entry entry = sorted.get(i);
+            normalizedTitles[i] = entry.normalizedTitle();
+            titles[i] = entry.title();
+            mostSignificant[i] = entry.id().getMostSignificantBits();
+            leastSignificant[i] = entry.id().getLeastSignificantBits();
+        }
+        return new TitleIndex(normalizedTitles, titles, mostSignificant, leastSignificant);
+    }
+
+    int size() {
+        return titles.length;
+    }
+
+    /**
+     * @return up to {@code limit} entries whose normalized title starts with {@code prefix}, in
+     * title order
+     */
+    List<Entry> complete(String prefix, int limit) {
+        List<Entry> matches = new ArrayList<>(Math.min(limit, titles.length));
+        for (int i = lowerBound(prefix); i < titles.length && matches.size() < limit; i++) {
+            if (!normalizedTitles[i].startsWith(prefix)) {
+                break;
+            }
+            matches.add(entry(i));
+        }
+        return matches;
+    }
+
+    Entry find(UUID id) {
+        int position = positionOf(id);
+        return position < 0 ? null : entry(position);
+    }
+
+    void forEach(Consumer<Entry> action) {
+        for (int i = 0; i < titles.length; i++) {
+            action.accept(entry(i));
+        }
+    }
+
+    TitleIndex with(Entry entry) {
+        TitleIndex base = without(entry.id());
+        int size = base.titles.length;
+        int position = base.lowerBound(entry.normalizedTitle());
+        String[] normalizedTitles = insert(base.normalizedTitles, position, entry.normalizedTitle());
+        String[] titles = insert(base.titles, position, entry.title());
+        long[] mostSignificant = new long[size + 1];
+        long[] leastSignificant = new long[size + 1];
+        System.arraycopy(base.mostSignificant, 0, mostSignificant, 0, position);
+        System.arraycopy(base.mostSignificant, position, mostSignificant, position + 1, size - position);
+        System.arraycopy(base.leastSignificant, 0, leastSignificant, 0, position);
+        System.arraycopy(base.leastSignificant, position, leastSignificant, position + 1, size - position);
+        mostSignificant[position] = entry.id().getMostSignificantBits();
+        leastSignificant[position] = entry.id().getLeastSignificantBits();
+        return new TitleIndex(normalizedTitles, titles, mostSignificant, leastSignificant);
+    }
+
+    TitleIndex without(UUID id) {
+        int position = positionOf(id);
+        if (position < 0) {
+            return this;
+        }
+        return new TitleIndex(remove(normalizedTitles, position), remove(titles, position),
+                remove(mostSignificant, position), remove(leastSignificant, position));
+    }
+
+    private int positionOf(UUID id) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        for (int i = 0; i < mostSignificant.length; i++) {
+            if (mostSignificant[i] == msb && leastSignificant[i] == lsb) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = normalizedTitles.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (normalizedTitles[middle].compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private Entry entry(int position) {
+        return new Entry(new UUID(mostSignificant[position], leastSignificant[position]),
+                normalizedTitles[position], titles[position]);
+    }
+
+    private static String[] insert(String[] values, int position, String value) {
+        String[] result = new String[values.length + 1];
+        System.arraycopy(values, 0, result, 0, position);
+        System.arraycopy(values, position, result, position + 1, values.length - position);
+        result[position] = value;
+        return result;
+    }
+
+    private static String[] remove(String[] values, int position) {
+        String[] result = Arrays.copyOf(values, values.length - 1);
+        System.arraycopy(values, position + 1, result, position, values.length - position - 1);
+        return result;
+    }
+
+    private static long[] remove(long[] values, int position) {
+        long[] result = Arrays.copyOf(values, values.length - 1);
+        System.arraycopy(values, position + 1, result, position, values.length - position - 1);
+        return result;
+    }
+
+    record Entry(UUID id, String normalizedTitle, String title) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.abadeksvp.vocabbackend.service.impl;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Positions of ids in a stored list, kept in open-addressed primitive arrays so looking up the
+ * position of every fetched document allocates nothing.
+ */
+final class UuidIndex {
+
+    private final long[] mostSignificant;
+    private final long[] leastSignificant;
+    private final int[] positions;
+    private final int mask;
+
+    UuidIndex(List<UUID> ids) {
+        int capacity = Integer.highestOneBit(Math.max(ids.size(), 1) * 2 - 1) << 1;
+        this.mostSignificant = new long[capacity];
+        this.leastSignificant = new long[capacity];
+        this.positions = new int[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < ids.size(); i++) {
+            put(ids.get(i), i);
+        }
+    }
+
+    /**
+     * @return the first position of the id, or -1 when the id is not in the list
+     */
+    int positionOf(UUID id) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        for (int slot = slot(msb, lsb); positions[slot] != 0; slot = (slot + 1) & mask) {
+            if (mostSignificant[slot] == msb && leastSignificant[slot] == lsb) {
+                return positions[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    private void put(UUID id, int position) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        int slot = slot(msb, lsb);
+        while (positions[slot] != 0) {
+            if (mostSignificant[slot] == msb && leastSignificant[slot] == lsb) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        mostSignificant[slot] = msb;
+        leastSignificant[slot] = lsb;
+        // Positions are stored off by one so that zero marks an empty slot
+        positions[slot] = position + 1;
+    }
+
+    private int slot(long msb, long lsb) {
+        long hash = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & mask;
+    }
+}
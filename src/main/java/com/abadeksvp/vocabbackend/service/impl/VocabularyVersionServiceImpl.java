@@ -0,0 +1,95 @@
+package com.abadeksvp.vocabbackend.service.impl;
+
+import com.abadeksvp.vocabbackend.model.db.Language;
+import com.abadeksvp.vocabbackend.model.db.VocabularyVersion;
+import com.abadeksvp.vocabbackend.model.event.WordChangedEvent;
+import com.abadeksvp.vocabbackend.model.event.WordsBatchChangedEvent;
+import com.abadeksvp.vocabbackend.service.VocabularyVersionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Keeps a monotonically increasing version per user vocabulary and language in one document per
+ * user, bumped after every write on whichever instance made it, so all instances answer
+ * conditional reads from the same versions and keep them across restarts.
+ */
+@Service
+@Slf4j
+public class VocabularyVersionServiceImpl implements VocabularyVersionService {
+
+    private static final String TOTAL = "total";
+    private static final String LANGUAGES = "languages.";
+    private static final int DISCRIMINATOR_BYTES = 16;
+
+    private final MongoTemplate mongoTemplate;
+
+    public VocabularyVersionServiceImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public long getVersion(String username, @Nullable Language language) {
+        Query versionQuery = query(where("_id").is(username));
+        versionQuery.fields().include(language == null ? TOTAL : LANGUAGES + language.name());
+        VocabularyVersion version = mongoTemplate.findOne(versionQuery, VocabularyVersion.class);
+        if (version == null) {
+            return 0L;
+        }
+        if (language == null) {
+            return version.getTotal();
+        }
+        return version.getLanguages() == null ? 0L : version.getLanguages().getOrDefault(language, 0L);
+    }
+
+    @Override
+    public String etag(String username, @Nullable Language language, @Nullable String discriminator) {
+        long version = getVersion(username, language);
+        String hash = discriminator == null ? "0" : digest(discriminator);
+        return "\"" + version + "-" + hash + "\"";
+    }
+
+    /**
+     * The first 128 bits of the SHA-256 of the discriminator, so distinct views of one version do
+     * not share a tag by chance.
+     */
+    private static String digest(String discriminator) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(discriminator.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, DISCRIMINATOR_BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Discriminator digest cannot be computed", e);
+        }
+    }
+
+    @EventListener
+    public void onWordChanged(WordChangedEvent event) {
+        bump(event.getUsername(), event.getLanguage());
+    }
+
+    @EventListener
+    public void onWordsBatchChanged(WordsBatchChangedEvent event) {
+        bump(event.getUsername(), event.getLanguage());
+    }
+
+    private void bump(String username, @Nullable Language language) {
+        Update update = new Update().inc(TOTAL, 1);
+        if (language != null) {
+            update.inc(LANGUAGES + language.name(), 1);
+        }
+        mongoTemplate.upsert(query(where("_id").is(username)), update, VocabularyVersion.class);
+        log.debug("Vocabulary version of user {} bumped by change in language {}", username, language);
+    }
+}
@@ -0,0 +1,121 @@
+package com.abadeksvp.vocabbackend.service.impl;
+
+import com.abadeksvp.vocabbackend.cache.WordTitleFilters;
+import com.abadeksvp.vocabbackend.exceptions.ApiException;
+import com.abadeksvp.vocabbackend.model.db.Language;
+import com.abadeksvp.vocabbackend.model.db.Word;
+import com.abadeksvp.vocabbackend.model.event.WordChangeType;
+import com.abadeksvp.vocabbackend.model.event.WordChangedEvent;
+import com.abadeksvp.vocabbackend.repository.WordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Title checks and change notifications shared by the single word and the batch write paths, so
+ * both reject the same duplicates and announce their writes the same way.
+ */
+@Component
+@Slf4j
+public class WordChanges {
+
+    private final WordRepository wordRepository;
+    private final MongoTemplate mongoTemplate;
+    private final WordTitleFilters wordTitleFilters;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public WordChanges(WordRepository wordRepository,
+                       MongoTemplate mongoTemplate,
+                       WordTitleFilters wordTitleFilters,
+                       ApplicationEventPublisher eventPublisher) {
+        this.wordRepository = wordRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.wordTitleFilters = wordTitleFilters;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Most titles are new, and the filter says so without a query. The unique title index still
+     * rejects a duplicate this check misses.
+     */
+    public void checkTitleIsFree(Word word) {
+        if (wordTitleFilters.mightExist(word.getUsername(), word.getLanguage(), word.getNormalizedTitle())
+                && wordRepository.existsActiveByTitle(word.getUsername(), word.getLanguage(), word.getNormalizedTitle(), word.getId())) {
+            log.debug("Word with title: {} already exists for user: {}", word.getTitle(), word.getUsername());
+            throw new ApiException("Word already exists", HttpStatus.CONFLICT);
+        }
+    }
+
+    /**
+     * Checks the titles of words about to be written together: a title is taken when an earlier
+     * word of the list has it, or another stored word does. Stored titles are read with one query,
+     * for the titles the filter cannot rule out.
+     *
+     * @return the positions in {@code words} of the words whose title is taken
+     */
+    public Set<Integer> findTakenTitles(String username, List<Word> words) {
+        Set<Integer> taken = new HashSet<>();
+        Set<String> seen = new HashSet<>();
+        List<Criteria> stored = new ArrayList<>();
+        for (int i = 0; i < words.size(); i++) {
+            Word word = words.get(i);
+            if (!seen.add(key(word.getLanguage(), word.getNormalizedTitle()))) {
+                taken.add(i);
+            } else if (wordTitleFilters.mightExist(username, word.getLanguage(), word.getNormalizedTitle())) {
+                stored.add(where("language").is(word.getLanguage()).and("normalizedTitle").is(word.getNormalizedTitle()));
+            }
+        }
+        if (stored.isEmpty()) {
+            return taken;
+        }
+        Query titlesQuery = query(where("username").is(username).and("deleted").ne(true)
+                .orOperator(stored.toArray(Criteria[]::new)));
+        titlesQuery.fields().include("language", "normalizedTitle");
+        List<Word> existing = mongoTemplate.find(titlesQuery, Word.class);
+        for (int i = 0; i < words.size(); i++) {
+            Word word = words.get(i);
+            boolean duplicate = existing.stream().anyMatch(other -> !other.getId().equals(word.getId())
+                    && other.getLanguage() == word.getLanguage()
+                    && other.getNormalizedTitle().equals(word.getNormalizedTitle()));
+            if (duplicate) {
+                taken.add(i);
+            }
+        }
+        log.debug("{} of {} titles are taken for user: {}", taken.size(), words.size(), username);
+        return taken;
+    }
+
+    /**
+     * Announces a word that was just written, after the write, so a title filter loaded
+     * concurrently either reads the word or receives its title here.
+     */
+    public void written(Word word, WordChangeType type) {
+        if (!word.isDeleted()) {
+            wordTitleFilters.add(word.getUsername(), word.getLanguage(), word.getNormalizedTitle());
+        }
+        eventPublisher.publishEvent(WordChangedEvent.of(word, word.getLanguage(), type));
+    }
+
+    /**
+     * Announces that an updated word left {@code languageBefore}.
+     */
+    public void movedFrom(Word word, Language languageBefore) {
+        eventPublisher.publishEvent(WordChangedEvent.of(word, languageBefore, WordChangeType.UPDATED));
+    }
+
+    private static String key(Language language, String normalizedTitle) {
+        return language + ":" + normalizedTitle;
+    }
+}
@@ -0,0 +1,177 @@
+package com.abadeksvp.vocabbackend.service.impl;
+
+import com.abadeksvp.vocabbackend.exceptions.ApiException;
+import com.abadeksvp.vocabbackend.model.WordStatus;
+import com.abadeksvp.vocabbackend.model.api.word.request.ReviewResultRequest;
+import com.abadeksvp.vocabbackend.model.api.word.request.ReviewWordRequest;
+import com.abadeksvp.vocabbackend.model.api.word.request.SubmitBatchResultsRequest;
+import com.abadeksvp.vocabbackend.model.api.word.response.ReviewStateResponse;
+import com.abadeksvp.vocabbackend.model.db.ReviewEvent;
+import com.abadeksvp.vocabbackend.model.db.ReviewEventMeta;
+import com.abadeksvp.vocabbackend.model.db.ReviewState;
+import com.abadeksvp.vocabbackend.model.db.Word;
+import com.abadeksvp.vocabbackend.model.db.WordsBatch;
+import com.abadeksvp.vocabbackend.model.event.WordChangeType;
+import com.abadeksvp.vocabbackend.model.event.WordChangedEvent;
+import com.abadeksvp.vocabbackend.repository.WordBatchRepository;
+import com.abadeksvp.vocabbackend.repository.WordRepository;
+import com.abadeksvp.vocabbackend.security.SecurityUtils;
+import com.abadeksvp.vocabbackend.service.ChangeSequenceGenerator;
+import com.abadeksvp.vocabbackend.service.DateTimeGenerator;
+import com.abadeksvp.vocabbackend.service.ReviewHistoryService;
+import com.abadeksvp.vocabbackend.service.WordReviewService;
+import com.abadeksvp.vocabbackend.service.WordsBatchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@Service
+@Slf4j
+public class WordReviewServiceImpl implements WordReviewService {
+
+    private final WordRepository wordRepository;
+    private final WordBatchRepository batchRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ReviewScheduler reviewScheduler;
+    private final DateTimeGenerator dateTimeGenerator;
+    private final ChangeSequenceGenerator changeSequenceGenerator;
+    private final ReviewHistoryService reviewHistoryService;
+    private final WordsBatchService wordsBatchService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public WordReviewServiceImpl(WordRepository wordRepository,
+                                 WordBatchRepository batchRepository,
+                                 MongoTemplate mongoTemplate,
+                                 ReviewScheduler reviewScheduler,
+                                 DateTimeGenerator dateTimeGenerator,
+                                 ChangeSequenceGenerator changeSequenceGenerator,
+                                 ReviewHistoryService reviewHistoryService,
+                                 WordsBatchService wordsBatchService,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.wordRepository = wordRepository;
+        this.batchRepository = batchRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.reviewScheduler = reviewScheduler;
+        this.dateTimeGenerator = dateTimeGenerator;
+        this.changeSequenceGenerator = changeSequenceGenerator;
+        this.reviewHistoryService = reviewHistoryService;
+        this.wordsBatchService = wordsBatchService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public ReviewStateResponse review(ReviewWordRequest request) {
+        String username = SecurityUtils.getCurrentUsername();
+        log.debug("Reviewing word with ID: {}, quality: {} for user: {}", request.getId(), request.getQuality(), username);
+        Word word = wordRepository.findById(request.getId())
+                .filter(found -> !found.isDeleted() && username.equals(found.getUsername()))
+                .orElseThrow(() -> {
+                    log.debug("Word not found for review with ID: {} and user: {}", request.getId(), username);
+                    return new ApiException("Word not found", HttpStatus.NOT_FOUND);
+                });
+        LocalDateTime now = dateTimeGenerator.now();
+        ReviewState review = reviewScheduler.next(word.getReview(), request.getQuality(), now);
+        reviewHistoryService.record(List.of(toEvent(word, request.getQuality(), word.getStatus(), now)));
+        // Only the schedule is written so a concurrent edit of the word is not overwritten
+        mongoTemplate.updateFirst(query(where("_id").is(word.getId()).and("username").is(username)),
+                Update.update("review", review), Word.class);
+        wordsBatchService.discardPending(username, word.getLanguage());
+        log.debug("Word {} is due at {} with interval {} days", word.getId(), review.getDueAt(), review.getInterval());
+        return ReviewStateResponse.builder()
+                .id(word.getId())
+                .ease(review.getEase())
+                .interval(review.getInterval())
+                .repetitions(review.getRepetitions())
+                .dueAt(review.getDueAt())
+                .build();
+    }
+
+    @Override
+    public void submitBatchResults(SubmitBatchResultsRequest request) {
+        String username = SecurityUtils.getCurrentUsername();
+        log.debug("Submitting {} batch results for user: {} and language: {}",
+                request.getResults().size(), username, request.getLanguage());
+        WordsBatch batch = batchRepository.findByUsernameAndLanguage(username, request.getLanguage())
+                .orElseThrow(() -> {
+                    log.debug("Batch not found for user: {} and language: {}", username, request.getLanguage());
+                    return new ApiException("Batch not found", HttpStatus.NOT_FOUND);
+                });
+        Set<UUID> batchIds = batch.getWords() == null ? Set.of() : new HashSet<>(batch.getWords());
+        Map<UUID, ReviewResultRequest> results = new LinkedHashMap<>();
+        for (ReviewResultRequest result : request.getResults()) {
+            if (!batchIds.contains(result.getWordId())) {
+                throw new ApiException("Word " + result.getWordId() + " is not in the current batch", HttpStatus.CONFLICT);
+            }
+            results.put(result.getWordId(), result);
+        }
+        Map<UUID, Word> words = wordRepository.findActiveByIdIn(results.keySet()).stream()
+                .filter(word -> username.equals(word.getUsername()))
+                .collect(Collectors.toMap(Word::getId, Function.identity()));
+
+        LocalDateTime now = dateTimeGenerator.now();
+        List<ReviewEvent> events = new ArrayList<>();
+        Map<UUID, Update> updates = new LinkedHashMap<>();
+        List<Word> statusChanged = new ArrayList<>();
+        for (ReviewResultRequest result : results.values()) {
+            Word word = words.get(result.getWordId());
+            if (word == null) {
+                continue;
+            }
+            WordStatus status = result.getStatus() != null ? result.getStatus() : word.getStatus();
+            events.add(toEvent(word, result.getQuality(), status, now));
+            Update update = Update.update("review", reviewScheduler.next(word.getReview(), result.getQuality(), now));
+            if (status != word.getStatus()) {
+                update.set("status", status).set("lastUpdateDate", now);
+                statusChanged.add(word);
+            }
+            updates.put(word.getId(), update);
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+        if (!statusChanged.isEmpty()) {
+            long seq = changeSequenceGenerator.reserve(username, statusChanged.size());
+            for (Word word : statusChanged) {
+                updates.get(word.getId()).set("changeSeq", seq++);
+            }
+        }
+
+        reviewHistoryService.record(events);
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Word.class);
+        updates.forEach((id, update) -> bulk.updateOne(query(where("_id").is(id)), update));
+        bulk.execute();
+        wordsBatchService.discardPending(username, request.getLanguage());
+        statusChanged.forEach(word -> eventPublisher.publishEvent(new WordChangedEvent(username, word.getId(),
+                word.getLanguage(), WordChangeType.STATUS_CHANGED, results.get(word.getId()).getStatus(), null, null)));
+        log.debug("Applied {} review results, {} status changes for user: {}", updates.size(), statusChanged.size(), username);
+    }
+
+    private ReviewEvent toEvent(Word word, int quality, WordStatus statusAfter, LocalDateTime now) {
+        return ReviewEvent.builder()
+                .meta(new ReviewEventMeta(word.getUsername(), word.getLanguage()))
+                .wordId(word.getId())
+                .quality(quality)
+                .statusBefore(word.getStatus())
+                .statusAfter(statusAfter)
+                .reviewedAt(now)
+                .build();
+    }
+}
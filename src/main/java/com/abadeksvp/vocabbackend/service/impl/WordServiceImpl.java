@@ -10,21 +10,26 @@ import com.abadeksvp.vocabbackend.model.api.word.request.CreateWordRequest;
 import com.abadeksvp.vocabbackend.model.api.word.request.UpdateWordRequest;
 import com.abadeksvp.vocabbackend.model.api.word.request.WordsFilter;
 import com.abadeksvp.vocabbackend.model.api.word.response.WordResponse;
-import com.abadeksvp.vocabbackend.model.db.Language;
 import com.abadeksvp.vocabbackend.model.db.QWord;
 import com.abadeksvp.vocabbackend.model.db.Word;
+import com.abadeksvp.vocabbackend.model.event.WordChangeType;
 import com.abadeksvp.vocabbackend.repository.WordRepository;
 import com.abadeksvp.vocabbackend.security.SecurityUtils;
+import com.abadeksvp.vocabbackend.service.ChangeSequenceGenerator;
+import com.abadeksvp.vocabbackend.service.DateTimeGenerator;
 import com.abadeksvp.vocabbackend.service.WordService;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -35,15 +40,24 @@ public class WordServiceImpl implements WordService {
     private final WordCreator wordCreator;
     private final WordUpdater wordUpdater;
     private final WordToWordResponseMapper toWordResponseMapper;
+    private final ChangeSequenceGenerator changeSequenceGenerator;
+    private final DateTimeGenerator dateTimeGenerator;
+    private final WordChanges wordChanges;
 
     public WordServiceImpl(WordRepository wordRepository,
                            WordCreator wordCreator,
                            WordUpdater wordUpdater,
-                           WordToWordResponseMapper toWordResponseMapper) {
+                           WordToWordResponseMapper toWordResponseMapper,
+                           ChangeSequenceGenerator changeSequenceGenerator,
+                           DateTimeGenerator dateTimeGenerator,
+                           WordChanges wordChanges) {
         this.wordRepository = wordRepository;
         this.wordCreator = wordCreator;
         this.wordUpdater = wordUpdater;
         this.toWordResponseMapper = toWordResponseMapper;
+        this.changeSequenceGenerator = changeSequenceGenerator;
+        this.dateTimeGenerator = dateTimeGenerator;
+        this.wordChanges = wordChanges;
     }
 
     @Override
@@ -61,14 +75,20 @@ public class WordServiceImpl implements WordService {
     @Override
     public void deleteWord(String wordId) {
         log.debug("Deleting word with ID: {}", wordId);
-        wordRepository.deleteById(UUID.fromString(wordId));
+        findActiveById(UUID.fromString(wordId)).ifPresent(word -> {
+            word.setDeleted(true);
+            word.setDeletedAt(dateTimeGenerator.now());
+            word.setDefinitions(List.of());
+            wordRepository.save(withNextChangeSeq(word));
+            wordChanges.written(word, WordChangeType.DELETED);
+        });
         log.debug("Word deleted successfully with ID: {}", wordId);
     }
 
     @Override
     public WordResponse getWordById(String wordId) {
         log.debug("Getting word by ID: {}", wordId);
-        WordResponse result = wordRepository.findById(UUID.fromString(wordId))
+        WordResponse result = findActiveById(UUID.fromString(wordId))
                 .map(toWordResponseMapper::map)
                 .orElseThrow(() -> {
                     log.debug("Word not found with ID: {}", wordId);
@@ -80,7 +100,8 @@ public class WordServiceImpl implements WordService {
 
     private Predicate buildMongoPredicate(WordsFilter filter) {
         String username = SecurityUtils.getCurrentUsername();
-        BooleanExpression predicate = QWord.word.username.eq(username);
+        BooleanExpression predicate = QWord.word.username.eq(username)
+                .and(QWord.word.deleted.ne(true));
         if (filter.getStatus() != null) {
             predicate = predicate.and(QWord.word.status.eq(filter.getStatus()));
         }
@@ -97,7 +118,9 @@ public class WordServiceImpl implements WordService {
     public WordResponse createWord(CreateWordRequest request) {
         log.debug("Creating new word with title: {} and language: {}", request.getTitle(), request.getLanguage());
         Word word = wordCreator.create(request);
-        Word savedWord = wordRepository.save(word);
+        wordChanges.checkTitleIsFree(word);
+        Word savedWord = saveTitled(withNextChangeSeq(word));
+        wordChanges.written(savedWord, WordChangeType.CREATED);
         log.debug("Word created successfully with ID: {} and title: {}", savedWord.getId(), savedWord.getTitle());
         return toWordResponseMapper.map(savedWord);
     }
@@ -105,14 +128,19 @@ public class WordServiceImpl implements WordService {
     @Override
     public WordResponse updateWord(UpdateWordRequest request) {
         log.debug("Updating word with ID: {}", request.getId());
-        Word existingWord = wordRepository.findById(request.getId())
+        Word existingWord = findActiveById(request.getId())
                 .orElseThrow(() -> {
                     log.debug("Word not found for update with ID: {}", request.getId());
                     return new ApiException("Word not found", HttpStatus.NOT_FOUND);
                 });
         log.debug("Found existing word: {} for update", existingWord.getTitle());
         Word word = wordUpdater.update(request, existingWord);
-        Word savedWord = wordRepository.save(word);
+        wordChanges.checkTitleIsFree(word);
+        Word savedWord = saveTitled(withNextChangeSeq(word));
+        wordChanges.written(savedWord, WordChangeType.UPDATED);
+        if (existingWord.getLanguage() != savedWord.getLanguage()) {
+            wordChanges.movedFrom(savedWord, existingWord.getLanguage());
+        }
         log.debug("Word updated successfully with ID: {} and title: {}", savedWord.getId(), savedWord.getTitle());
         return toWordResponseMapper.map(savedWord);
     }
@@ -120,15 +148,33 @@ public class WordServiceImpl implements WordService {
     @Override
     public WordResponse changeWordStatus(ChangeWordStatusRequest request) {
         log.debug("Changing word status to {} for word ID: {}", request.getStatus(), request.getId());
-        Word word = wordRepository.findById(request.getId())
+        Word word = findActiveById(request.getId())
                 .orElseThrow(() -> {
                     log.debug("Word not found for status change with ID: {}", request.getId());
                     return new ApiException("Word not found", HttpStatus.NOT_FOUND);
                 });
         log.debug("Current status of word {}: {}, changing to: {}", word.getTitle(), word.getStatus(), request.getStatus());
         word.setStatus(request.getStatus());
-        Word savedWord = wordRepository.save(word);
+        Word savedWord = wordRepository.save(withNextChangeSeq(word));
+        wordChanges.written(savedWord, WordChangeType.STATUS_CHANGED);
         log.debug("Word status changed successfully for ID: {}", savedWord.getId());
         return toWordResponseMapper.map(savedWord);
     }
+
+    private Optional<Word> findActiveById(UUID id) {
+        return wordRepository.findById(id).filter(word -> !word.isDeleted());
+    }
+
+    private Word saveTitled(Word word) {
+        try {
+            return wordRepository.save(word);
+        } catch (DuplicateKeyException e) {
+            throw new ApiException("Word already exists", HttpStatus.CONFLICT);
+        }
+    }
+
+    private Word withNextChangeSeq(Word word) {
+        word.setChangeSeq(changeSequenceGenerator.next(word.getUsername()));
+        return word;
+    }
 }
@@ -0,0 +1,529 @@
+package com.abadeksvp.vocabbackend.service.impl;
+
+import com.abadeksvp.vocabbackend.cache.SingleFlight;
+import com.abadeksvp.vocabbackend.cache.WordJsonCache;
+import com.abadeksvp.vocabbackend.configuration.QueryExecutionConfiguration;
+import com.abadeksvp.vocabbackend.exceptions.ApiException;
+import com.abadeksvp.vocabbackend.mapping.writer.RawWordJsonWriter;
+import com.abadeksvp.vocabbackend.mapping.writer.WordFieldSelection;
+import com.abadeksvp.vocabbackend.model.api.PageableFilter;
+import com.abadeksvp.vocabbackend.model.api.ResponseFormat;
+import com.abadeksvp.vocabbackend.model.api.paging.PagingDto;
+import com.abadeksvp.vocabbackend.model.api.word.request.WordView;
+import com.abadeksvp.vocabbackend.model.api.word.request.WordsFilter;
+import com.abadeksvp.vocabbackend.model.db.Language;
+import com.abadeksvp.vocabbackend.model.db.WordsBatch;
+import com.abadeksvp.vocabbackend.repository.RawWordRepository;
+import com.abadeksvp.vocabbackend.repository.WordBatchRepository;
+import com.abadeksvp.vocabbackend.security.SecurityUtils;
+import com.abadeksvp.vocabbackend.service.VocabularyVersionService;
+import com.abadeksvp.vocabbackend.service.WordStreamService;
+import com.abadeksvp.vocabbackend.service.WordSuggestService;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+@Service
+@Slf4j
+public class WordStreamServiceImpl implements WordStreamService {
+
+    private static final Bson LAST_UPDATE_DATE_DESC = Sorts.descending("lastUpdateDate");
+    private static final byte[] PAGE_START = "{\"data\":[".getBytes(StandardCharsets.UTF_8);
+    /**
+     * Larger or later pages are streamed directly instead of being rendered into a shared buffer.
+     */
+    private static final int MAX_COALESCED_PAGE_SIZE = 200;
+    private static final byte[] PAGE_PAGING = "],\"paging\":".getBytes(StandardCharsets.UTF_8);
+    private static final int CACHE_TRANSFER_BYTES = 4096;
+    /**
+     * Fuzzy matches beyond this rank are not paged through.
+     */
+    private static final int MAX_FUZZY_MATCHES = 1000;
+
+    private final RawWordRepository rawWordRepository;
+    private final WordBatchRepository batchRepository;
+    private final RawWordJsonWriter wordJsonWriter;
+    private final WordJsonCache wordJsonCache;
+    private final WordSuggestService wordSuggestService;
+    private final VocabularyVersionService versionService;
+    private final ObjectMapper objectMapper;
+    private final JsonFactory jsonFactory;
+    private final Map<ResponseFormat, ObjectMapper> binaryMappers = new EnumMap<>(ResponseFormat.class);
+    private final ExecutorService queryExecutor;
+    private final SingleFlight<String, byte[]> wordsFlight;
+    private final SingleFlight<String, byte[]> wordFlight;
+    private final SingleFlight<String, byte[]> batchFlight;
+
+    public WordStreamServiceImpl(RawWordRepository rawWordRepository,
+                                 WordBatchRepository batchRepository,
+                                 RawWordJsonWriter wordJsonWriter,
+                                 WordJsonCache wordJsonCache,
+                                 WordSuggestService wordSuggestService,
+                                 VocabularyVersionService versionService,
+                                 ObjectMapper objectMapper,
+                                 MappingJackson2CborHttpMessageConverter cborConverter,
+                                 MappingJackson2SmileHttpMessageConverter smileConverter,
+                                 MeterRegistry meterRegistry,
+                                 @Qualifier(QueryExecutionConfiguration.QUERY_EXECUTOR) ExecutorService queryExecutor) {
+        this.rawWordRepository = rawWordRepository;
+        this.batchRepository = batchRepository;
+        this.wordJsonWriter = wordJsonWriter;
+        this.wordJsonCache = wordJsonCache;
+        this.wordSuggestService = wordSuggestService;
+        this.versionService = versionService;
+        this.objectMapper = objectMapper;
+        this.jsonFactory = objectMapper.getFactory();
+        this.binaryMappers.put(ResponseFormat.CBOR, cborConverter.getObjectMapper());
+        this.binaryMappers.put(ResponseFormat.SMILE, smileConverter.getObjectMapper());
+        this.queryExecutor = queryExecutor;
+        this.wordsFlight = new SingleFlight<>("words", meterRegistry);
+        this.wordFlight = new SingleFlight<>("word", meterRegistry);
+        this.batchFlight = new SingleFlight<>("batch", meterRegistry);
+    }
+
+    @Override
+    public void streamWords(WordsFilter filter, ResponseFormat format, OutputStream out) throws IOException {
+        if (filter.getPage() != 0 || filter.getSize() > MAX_COALESCED_PAGE_SIZE) {
+            writeWords(filter, format, out);
+            return;
+        }
+        String key = String.join("|", SecurityUtils.getCurrentUsername(), format.name(),
+                String.valueOf(filter.getSize()), String.valueOf(filter.getStatus()), String.valueOf(filter.getLanguage()),
+                String.valueOf(filter.getQ()), String.valueOf(filter.getView()), String.valueOf(filter.getFields()),
+                String.valueOf(filter.isFuzzy()));
+        stream(wordsFlight, key, filter.getLanguage(), out, buffer -> writeWords(filter, format, buffer));
+    }
+
+    @Override
+    public void streamWordById(String wordId, String fields, ResponseFormat format, OutputStream out) throws IOException {
+        String key = String.join("|", SecurityUtils.getCurrentUsername(), format.name(), wordId, String.valueOf(fields));
+        stream(wordFlight, key, null, out, buffer -> writeWordById(wordId, fields, format, buffer));
+    }
+
+    @Override
+    public void streamBatch(Language language, PageableFilter page, String fields, ResponseFormat format, OutputStream out) throws IOException {
+        String key = String.join("|", SecurityUtils.getCurrentUsername(), format.name(), language.name(),
+                String.valueOf(page.getPage()), String.valueOf(page.getSize()), String.valueOf(fields));
+        stream(batchFlight, key, language, out, buffer -> writeBatch(language, page, fields, format, buffer));
+    }
+
+    /**
+     * Streams straight to the response unless the same read is already running, in which case the
+     * response is rendered once into a buffer shared by every caller that overlaps. The key carries
+     * the vocabulary version read after joining, so a caller that arrives after a write never gets a
+     * body read before it.
+     */
+    private void stream(SingleFlight<String, byte[]> flight, String key, @Nullable Language language,
+                        OutputStream out, ResponseWriter writer) throws IOException {
+        boolean contended = flight.arrive(key);
+        try {
+            if (!contended) {
+                writer.write(out);
+                return;
+            }
+            long version = versionService.getVersion(SecurityUtils.getCurrentUsername(), language);
+            out.write(flight.execute(key + "|" + version, () -> render(writer)));
+        } finally {
+            flight.leave(key);
+        }
+    }
+
+    private byte[] render(ResponseWriter writer) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try {
+            writer.write(buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private void writeWords(WordsFilter filter, ResponseFormat format, OutputStream out) throws IOException {
+        log.debug("Streaming words with filter - page: {}, size: {}, status: {}, language: {}, query: {}, view: {}, fields: {}",
+                filter.getPage(), filter.getSize(), filter.getStatus(), filter.getLanguage(), filter.getQ(),
+                filter.getView(), filter.getFields());
+        if (filter.isFuzzy() && filter.getQ() != null) {
+            writeFuzzyWords(filter, format, out);
+            return;
+        }
+        PageRequest pageRequest = PageRequest.of(filter.getPage(), filter.getSize());
+        Bson query = buildMongoFilter(filter);
+        WordFieldSelection selection = selection(filter);
+        // Counted alongside the page query and dropped when a short page already gives the total.
+        // Either way the total is known before the first byte is written, so a failed count is a clean error.
+        Future<Long> count = queryExecutor.submit(() -> rawWordRepository.count(query));
+        List<RawBsonDocument> page = new ArrayList<>(Math.min(pageRequest.getPageSize(), MAX_COALESCED_PAGE_SIZE));
+        long total;
+        try {
+            try (MongoCursor<RawBsonDocument> cursor = rawWordRepository.find(query, selection.projection(),
+                    LAST_UPDATE_DATE_DESC, pageRequest.getOffset(), pageRequest.getPageSize())) {
+                while (cursor.hasNext()) {
+                    page.add(cursor.next());
+                }
+            }
+            total = countTotal(pageRequest, page.size(), count);
+        } finally {
+            // Not interrupted: an interrupt in socket I/O makes the driver close the pooled connection
+            count.cancel(false);
+        }
+        WordsOutput output = output(format, out, selection);
+        output.startPage();
+        for (RawBsonDocument document : page) {
+            output.writeWord(document);
+        }
+        log.debug("Streamed {} words out of {} total for current filter", output.written, total);
+        output.endPage(toPaging(pageRequest, total));
+        output.finish();
+    }
+
+    /**
+     * Ranks titles from the in-memory suggest index and reads only the requested page by id, so a
+     * fuzzy query never scans the collection. The index may still hold words deleted on another
+     * instance, so matches are checked against the collection before they are counted.
+     */
+    private void writeFuzzyWords(WordsFilter filter, ResponseFormat format, OutputStream out) throws IOException {
+        if (filter.getLanguage() == null) {
+            throw new ApiException("Fuzzy search requires a language", HttpStatus.BAD_REQUEST);
+        }
+        PageRequest pageRequest = PageRequest.of(filter.getPage(), filter.getSize());
+        List<UUID> matches = wordSuggestService.findSimilar(filter.getQ(), filter.getLanguage(), MAX_FUZZY_MATCHES);
+        if (!matches.isEmpty()) {
+            matches = existing(matches, filter);
+        }
+        int from = (int) Math.min(pageRequest.getOffset(), matches.size());
+        List<UUID> pageIds = matches.subList(from, Math.min(from + pageRequest.getPageSize(), matches.size()));
+        WordFieldSelection selection = selection(filter);
+        WordsOutput output = output(format, out, selection);
+        output.startPage();
+        for (RawBsonDocument document : findOrdered(pageIds, selection)) {
+            if (document != null) {
+                output.writeWord(document);
+            }
+        }
+        log.debug("Streamed {} words out of {} fuzzy matches for query: {}", output.written, matches.size(), filter.getQ());
+        output.endPage(toPaging(pageRequest, matches.size()));
+        output.finish();
+    }
+
+    private List<UUID> existing(List<UUID> matches, WordsFilter filter) {
+        Set<UUID> kept = new HashSet<>();
+        Bson query = Filters.and(Filters.in("_id", matches), RawWordRepository.notDeleted(),
+                Filters.eq("username", SecurityUtils.getCurrentUsername()),
+                Filters.eq("language", filter.getLanguage().name()),
+                filter.getStatus() != null ? Filters.eq("status", filter.getStatus().name()) : Filters.empty());
+        try (MongoCursor<RawBsonDocument> cursor = rawWordRepository.find(query, Projections.include("_id"), null, 0, 0)) {
+            while (cursor.hasNext()) {
+                kept.add(wordJsonWriter.readId(cursor.next()));
+            }
+        }
+        return matches.stream().filter(kept::contains).toList();
+    }
+
+    private void writeWordById(String wordId, String fields, ResponseFormat format, OutputStream out) throws IOException {
+        log.debug("Streaming word by ID: {}, fields: {}, format: {}", wordId, fields, format);
+        WordFieldSelection selection = WordFieldSelection.parse(fields);
+        WordsOutput output = output(format, out, selection);
+        RawBsonDocument word = rawWordRepository.findById(UUID.fromString(wordId), selection.projection());
+        if (word == null) {
+            log.debug("Word not found with ID: {}", wordId);
+            throw new ApiException("Word now found", HttpStatus.NOT_FOUND);
+        }
+        output.writeWord(word);
+        output.finish();
+    }
+
+    private void writeBatch(Language language, PageableFilter page, String fields, ResponseFormat format, OutputStream out) throws IOException {
+        String username = SecurityUtils.getCurrentUsername();
+        log.debug("Streaming words batch for user: {} and language: {}, page: {}, size: {}, fields: {}",
+                username, language, page.getPage(), page.getSize(), fields);
+        WordFieldSelection selection = WordFieldSelection.parse(fields);
+        // Any offset past the int range is past the end of every batch as well
+        int skip = (int) Math.min(PageRequest.of(page.getPage(), page.getSize()).getOffset(), Integer.MAX_VALUE);
+        WordsBatch batch = batchRepository.findPageByUsernameAndLanguage(username, language, skip, page.getSize())
+                .orElseThrow(() -> {
+                    log.debug("Batch not found for user: {} and language: {}", username, language);
+                    return new ApiException("Batch not found", HttpStatus.NOT_FOUND);
+                });
+        List<UUID> ids = batch.getWords() == null ? List.of() : batch.getWords();
+        WordsOutput output = output(format, out, selection);
+        output.startArray();
+        for (RawBsonDocument document : findOrdered(ids, selection)) {
+            if (document != null) {
+                output.writeWord(document);
+            }
+        }
+        output.endArray();
+        output.finish();
+        log.debug("Streamed batch with {} words to user: {}", output.written, username);
+    }
+
+    /**
+     * Reads the words in the order of {@code ids}, leaving a {@code null} where a word no longer exists.
+     */
+    private RawBsonDocument[] findOrdered(List<UUID> ids, WordFieldSelection selection) {
+        RawBsonDocument[] ordered = new RawBsonDocument[ids.size()];
+        if (ids.isEmpty()) {
+            return ordered;
+        }
+        UuidIndex index = new UuidIndex(ids);
+        try (MongoCursor<RawBsonDocument> cursor = rawWordRepository.findAllByIdIn(ids, selection.projectionWithId())) {
+            while (cursor.hasNext()) {
+                RawBsonDocument document = cursor.next();
+                int position = index.positionOf(wordJsonWriter.readId(document));
+                if (position >= 0) {
+                    ordered[position] = document;
+                }
+            }
+        }
+        return ordered;
+    }
+
+    private WordFieldSelection selection(WordsFilter filter) {
+        return filter.getFields() == null && filter.getView() == WordView.SUMMARY
+                ? WordFieldSelection.SUMMARY
+                : WordFieldSelection.parse(filter.getFields());
+    }
+
+    private long countTotal(PageRequest pageRequest, int read, Future<Long> count) {
+        if (pageRequest.getOffset() == 0 && read < pageRequest.getPageSize()) {
+            return read;
+        }
+        if (read != 0 && read < pageRequest.getPageSize()) {
+            return pageRequest.getOffset() + read;
+        }
+        try {
+            return count.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while counting words", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Failed to count words", e.getCause());
+        }
+    }
+
+    private PagingDto toPaging(PageRequest pageRequest, long total) {
+        long totalPages = (long) Math.ceil((double) total / pageRequest.getPageSize());
+        return new PagingDto(pageRequest.getPageSize(), total, totalPages, pageRequest.getPageNumber());
+    }
+
+    private Bson buildMongoFilter(WordsFilter filter) {
+        List<Bson> filters = new ArrayList<>();
+        filters.add(Filters.eq("username", SecurityUtils.getCurrentUsername()));
+        filters.add(RawWordRepository.notDeleted());
+        if (filter.getStatus() != null) {
+            filters.add(Filters.eq("status", filter.getStatus().name()));
+        }
+        if (filter.getQ() != null) {
+            filters.add(Filters.regex("title", Pattern.quote(filter.getQ()), "i"));
+        }
+        if (filter.getLanguage() != null) {
+            filters.add(Filters.eq("language", filter.getLanguage().name()));
+        }
+        return Filters.and(filters);
+    }
+
+    private WordsOutput output(ResponseFormat format, OutputStream out, WordFieldSelection selection) {
+        ObjectMapper binaryMapper = binaryMappers.get(format);
+        return binaryMapper == null
+                ? new JsonWordsOutput(out, selection)
+                : new BinaryWordsOutput(binaryMapper, out, selection);
+    }
+
+    @FunctionalInterface
+    private interface ResponseWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private abstract static class WordsOutput {
+        protected int written;
+
+        abstract void startPage() throws IOException;
+
+        abstract void endPage(PagingDto paging) throws IOException;
+
+        abstract void startArray() throws IOException;
+
+        abstract void endArray() throws IOException;
+
+        abstract void writeWord(RawBsonDocument document) throws IOException;
+
+        abstract void finish() throws IOException;
+    }
+
+    /**
+     * Writes comma separated word fragments, serving each one from {@link WordJsonCache} when the
+     * cached copy matches the document's changeSeq and caching it otherwise. Only complete words
+     * are cached; partial selections are always rendered.
+     */
+    private final class JsonWordsOutput extends WordsOutput {
+        private final OutputStream out;
+        private final WordFieldSelection selection;
+        private final WordJsonCache.Stamp cacheStamp;
+        private final FragmentBuffer fragment = new FragmentBuffer();
+        private byte[] transfer;
+
+        private JsonWordsOutput(OutputStream out, WordFieldSelection selection) {
+            this.out = out;
+            this.selection = selection;
+            this.cacheStamp = wordJsonCache.stamp();
+        }
+
+        @Override
+        void startPage() throws IOException {
+            out.write(PAGE_START);
+        }
+
+        @Override
+        void endPage(PagingDto paging) throws IOException {
+            out.write(PAGE_PAGING);
+            out.write(objectMapper.writeValueAsBytes(paging));
+            out.write('}');
+        }
+
+        @Override
+        void startArray() throws IOException {
+            out.write('[');
+        }
+
+        @Override
+        void endArray() throws IOException {
+            out.write(']');
+        }
+
+        @Override
+        void writeWord(RawBsonDocument document) throws IOException {
+            if (written++ > 0) {
+                out.write(',');
+            }
+            if (!selection.isAll() || !wordJsonCache.isEnabled()) {
+                render(document);
+                fragment.writeTo(out);
+                return;
+            }
+            UUID id = wordJsonWriter.readId(document);
+            long version = wordJsonWriter.readChangeSeq(document);
+            if (transfer == null) {
+                transfer = new byte[CACHE_TRANSFER_BYTES];
+            }
+            if (wordJsonCache.writeTo(id, version, out, transfer)) {
+                return;
+            }
+            render(document);
+            wordJsonCache.put(id, version, cacheStamp, fragment.array(), fragment.size());
+            fragment.writeTo(out);
+        }
+
+        @Override
+        void finish() {
+        }
+
+        private void render(RawBsonDocument document) throws IOException {
+            fragment.reset();
+            try (JsonGenerator generator = jsonFactory.createGenerator(fragment, JsonEncoding.UTF8)) {
+                wordJsonWriter.write(document, generator, selection);
+            }
+        }
+    }
+
+    /**
+     * Writes the whole response through one generator of a binary Jackson format. The generator is
+     * only created on first write so nothing reaches the response before a lookup can still fail.
+     */
+    private final class BinaryWordsOutput extends WordsOutput {
+        private final ObjectMapper mapper;
+        private final OutputStream out;
+        private final WordFieldSelection selection;
+        private JsonGenerator generator;
+
+        private BinaryWordsOutput(ObjectMapper mapper, OutputStream out, WordFieldSelection selection) {
+            this.mapper = mapper;
+            this.out = out;
+            this.selection = selection;
+        }
+
+        @Override
+        void startPage() throws IOException {
+            generator().writeStartObject();
+            generator().writeFieldName("data");
+            generator().writeStartArray();
+        }
+
+        @Override
+        void endPage(PagingDto paging) throws IOException {
+            generator().writeEndArray();
+            generator().writeFieldName("paging");
+            generator().writeObject(paging);
+            generator().writeEndObject();
+        }
+
+        @Override
+        void startArray() throws IOException {
+            generator().writeStartArray();
+        }
+
+        @Override
+        void endArray() throws IOException {
+            generator().writeEndArray();
+        }
+
+        @Override
+        void writeWord(RawBsonDocument document) throws IOException {
+            written++;
+            wordJsonWriter.write(document, generator(), selection);
+        }
+
+        @Override
+        void finish() throws IOException {
+            generator().flush();
+        }
+
+        private JsonGenerator generator() throws IOException {
+            if (generator == null) {
+                generator = mapper.getFactory().createGenerator(out);
+            }
+            return generator;
+        }
+    }
+
+    private static final class FragmentBuffer extends ByteArrayOutputStream {
+        private byte[] array() {
+            return buf;
+        }
+    }
+}
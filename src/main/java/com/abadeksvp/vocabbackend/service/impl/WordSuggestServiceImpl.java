@@ -0,0 +1,264 @@
+package com.abadeksvp.vocabbackend.service.impl;
+
+import com.abadeksvp.vocabbackend.exceptions.ApiException;
+import com.abadeksvp.vocabbackend.mapping.TitleNormalizer;
+import com.abadeksvp.vocabbackend.model.api.word.response.WordSuggestionResponse;
+import com.abadeksvp.vocabbackend.model.db.Language;
+import com.abadeksvp.vocabbackend.model.db.Word;
+import com.abadeksvp.vocabbackend.model.event.WordChangeType;
+import com.abadeksvp.vocabbackend.model.event.WordChangedEvent;
+import com.abadeksvp.vocabbackend.model.event.WordsBatchChangedEvent;
+import com.abadeksvp.vocabbackend.security.SecurityUtils;
+import com.abadeksvp.vocabbackend.service.VocabularyVersionService;
+import com.abadeksvp.vocabbackend.service.WordSuggestService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Serves title lookups from memory, per user and language: prefix completion from a
+ * {@link TitleIndex} and typo-tolerant matches from a {@link BkTree} built from it on first use.
+ * Both are loaded lazily and kept current from {@link WordChangedEvent}s. Changes made on other
+ * instances are only seen through the persisted vocabulary version, which is checked once titles are
+ * older than {@code vocab.suggest.max-age}; titles are reloaded when it moved past the versions bumped
+ * by the changes applied here. Users' titles are
+ * evicted least recently used first once more than {@code vocab.suggest.max-titles} are held together.
+ */
+@Service
+@Slf4j
+public class WordSuggestServiceImpl implements WordSuggestService {
+
+    private static final int MAX_LIMIT = 50;
+    private static final int STRIPES = 64;
+    /**
+     * Queries up to this length allow one typo, longer ones two.
+     */
+    private static final int SHORT_QUERY_LENGTH = 4;
+
+    private final MongoTemplate mongoTemplate;
+    private final VocabularyVersionService versionService;
+    private final long maxTitles;
+    private final long maxAgeNanos;
+    private final Map<IndexKey, Titles> indexes = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * Changes seen per stripe of keys, so titles loaded while their words changed are not kept.
+     */
+    private final AtomicLongArray changes = new AtomicLongArray(STRIPES);
+    private long titleCount;
+
+    public WordSuggestServiceImpl(MongoTemplate mongoTemplate,
+                                  VocabularyVersionService versionService,
+                                  @Value("${vocab.suggest.max-titles:1000000}") long maxTitles,
+                                  @Value("${vocab.suggest.max-age:30s}") Duration maxAge) {
+        this.mongoTemplate = mongoTemplate;
+        this.versionService = versionService;
+        this.maxTitles = maxTitles;
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    @Override
+    public List<WordSuggestionResponse> suggest(String prefix, Language language, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ApiException("Limit must be between 1 and " + MAX_LIMIT, HttpStatus.BAD_REQUEST);
+        }
+        return titles(language).index.complete(TitleNormalizer.normalize(prefix), limit).stream()
+                .map(entry -> new WordSuggestionResponse(entry.id(), entry.title()))
+                .toList();
+    }
+
+    @Override
+    public List<UUID> findSimilar(String query, Language language, int limit) {
+        String normalized = TitleNormalizer.normalize(query);
+        int maxDistance = normalized.length() <= SHORT_QUERY_LENGTH ? 1 : 2;
+        Titles titles = titles(language);
+        List<BkTree.Match> matches;
+        synchronized (titles) {
+            matches = titles.tree().search(normalized, maxDistance);
+        }
+        log.debug("Found {} titles within distance {} of: {}", matches.size(), maxDistance, normalized);
+        return matches.stream()
+                .limit(limit)
+                .map(BkTree.Match::id)
+                .toList();
+    }
+
+    @EventListener
+    public void onWordChanged(WordChangedEvent event) {
+        IndexKey key = new IndexKey(event.getUsername(), event.getLanguage());
+        changes.incrementAndGet(stripe(key));
+        Titles titles;
+        synchronized (indexes) {
+            titles = indexes.get(key);
+        }
+        if (titles == null) {
+            return;
+        }
+        // Every word change bumps the persisted version, even ones that leave the titles alone
+        titles.version.incrementAndGet();
+        if (event.getType() == WordChangeType.STATUS_CHANGED) {
+            return;
+        }
+        TitleIndex.Entry entry = event.getNormalizedTitle() != null
+                ? new TitleIndex.Entry(event.getWordId(), event.getNormalizedTitle(), event.getTitle())
+                : null;
+        int added;
+        synchronized (titles) {
+            added = titles.apply(event.getWordId(), entry);
+        }
+        synchronized (indexes) {
+            titleCount += added;
+        }
+    }
+
+    @EventListener
+    public void onWordsBatchChanged(WordsBatchChangedEvent event) {
+        if (event.getLanguage() == null) {
+            return;
+        }
+        Titles titles;
+        synchronized (indexes) {
+            titles = indexes.get(new IndexKey(event.getUsername(), event.getLanguage()));
+        }
+        if (titles != null) {
+            titles.version.incrementAndGet();
+        }
+    }
+
+    private Titles titles(Language language) {
+        IndexKey key = new IndexKey(SecurityUtils.getCurrentUsername(), language);
+        Titles titles;
+        synchronized (indexes) {
+            titles = indexes.get(key);
+        }
+        if (titles == null) {
+            return load(key);
+        }
+        long now = System.nanoTime();
+        if (now - titles.checkedAt <= maxAgeNanos) {
+            return titles;
+        }
+        if (versionService.getVersion(key.username(), key.language()) <= titles.version.get()) {
+            titles.checkedAt = now;
+            return titles;
+        }
+        log.debug("Titles of user: {} in language: {} changed elsewhere, reloading", key.username(), key.language());
+        synchronized (indexes) {
+            if (indexes.remove(key, titles)) {
+                titleCount -= titles.index.size();
+            }
+        }
+        return load(key);
+    }
+
+    /**
+     * The version is read first, so a change made while the titles load makes the next check
+     * reload them.
+     */
+    private Titles load(IndexKey key) {
+        long stamp = changes.get(stripe(key));
+        long version = versionService.getVersion(key.username(), key.language());
+        Query titlesQuery = query(where("username").is(key.username()).and("language").is(key.language()).and("deleted").ne(true));
+        titlesQuery.fields().include("title", "normalizedTitle");
+        List<TitleIndex.Entry> entries = mongoTemplate.find(titlesQuery, Word.class).stream()
+                .filter(word -> word.getNormalizedTitle() != null)
+                .map(word -> new TitleIndex.Entry(word.getId(), word.getNormalizedTitle(), word.getTitle()))
+                .toList();
+        Titles titles = new Titles(TitleIndex.of(entries), version);
+        synchronized (indexes) {
+            if (changes.get(stripe(key)) == stamp && !indexes.containsKey(key)) {
+                indexes.put(key, titles);
+                titleCount += titles.index.size();
+                evict();
+            }
+        }
+        log.debug("Loaded {} titles of user: {} in language: {}", titles.index.size(), key.username(), key.language());
+        return titles;
+    }
+
+    private void evict() {
+        Iterator<Titles> eldest = indexes.values().iterator();
+        // The newest titles stay even when they are more than the whole budget
+        while (titleCount > maxTitles && indexes.size() > 1) {
+            titleCount -= eldest.next().index.size();
+            eldest.remove();
+        }
+    }
+
+    private static int stripe(IndexKey key) {
+        return (key.hashCode() & 0x7fffffff) % STRIPES;
+    }
+
+    private record IndexKey(String username, Language language) {
+    }
+
+    /**
+     * The index is replaced on every change so prefix lookups read it without locking; the tree is
+     * changed in place and is only used while holding this object's monitor.
+     */
+    private static final class Titles {
+        /**
+         * The persisted version when loaded, plus the bumps of changes applied here since.
+         */
+        private final AtomicLong version;
+        private volatile long checkedAt = System.nanoTime();
+        private volatile TitleIndex index;
+        private BkTree tree;
+
+        private Titles(TitleIndex index, long version) {
+            this.index = index;
+            this.version = new AtomicLong(version);
+        }
+
+        private BkTree tree() {
+            if (tree == null) {
+                BkTree built = new BkTree();
+                index.forEach(entry -> built.add(entry.id(), entry.normalizedTitle()));
+                tree = built;
+            }
+            return tree;
+        }
+
+        /**
+         * Replaces the word's title with {@code entry}, or removes it when {@code entry} is null.
+         *
+         * @return the change in the number of titles
+         */
+        private int apply(UUID id, TitleIndex.Entry entry) {
+            TitleIndex previous = index;
+            TitleIndex.Entry old = previous.find(id);
+            TitleIndex changed = previous.without(id);
+            if (entry != null) {
+                changed = changed.with(entry);
+            }
+            index = changed;
+            if (tree != null) {
+                if (old != null) {
+                    tree.remove(old.normalizedTitle());
+                }
+                if (entry != null) {
+                    tree.add(entry.id(), entry.normalizedTitle());
+                }
+                if (tree.removed() > tree.size()) {
+                    tree = null;
+                }
+            }
+            return changed.size() - previous.size();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.abadeksvp.vocabbackend.service.impl;
+
+import com.abadeksvp.vocabbackend.exceptions.ApiException;
+import com.abadeksvp.vocabbackend.mapping.mapper.WordToWordResponseMapper;
+import com.abadeksvp.vocabbackend.model.api.word.response.WordChangesResponse;
+import com.abadeksvp.vocabbackend.model.api.word.response.WordResponse;
+import com.abadeksvp.vocabbackend.model.db.Word;
+import com.abadeksvp.vocabbackend.security.SecurityUtils;
+import com.abadeksvp.vocabbackend.service.ChangeSequenceGenerator;
+import com.abadeksvp.vocabbackend.service.DateTimeGenerator;
+import com.abadeksvp.vocabbackend.service.WordSyncService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Serves changes ordered by the per-user change sequence. A token carries the last sequence the
+ * client has seen and when it was issued; tokens older than the tombstone TTL are rejected because
+ * deletions made after them may already have been purged. Only settled changes are served, so a
+ * change whose write is still landing is never skipped by a token that moved past it.
+ */
+@Service
+@Slf4j
+public class WordSyncServiceImpl implements WordSyncService {
+
+    public static final int MAX_LIMIT = 1000;
+    private static final Duration TOKEN_TTL = Duration.ofDays(Word.TOMBSTONE_TTL_DAYS);
+
+    private final MongoTemplate mongoTemplate;
+    private final WordToWordResponseMapper toWordResponseMapper;
+    private final DateTimeGenerator dateTimeGenerator;
+    private final ChangeSequenceGenerator changeSequenceGenerator;
+
+    public WordSyncServiceImpl(MongoTemplate mongoTemplate,
+                               WordToWordResponseMapper toWordResponseMapper,
+                               DateTimeGenerator dateTimeGenerator,
+                               ChangeSequenceGenerator changeSequenceGenerator) {
+        this.mongoTemplate = mongoTemplate;
+        this.toWordResponseMapper = toWordResponseMapper;
+        this.dateTimeGenerator = dateTimeGenerator;
+        this.changeSequenceGenerator = changeSequenceGenerator;
+    }
+
+    @Override
+    public WordChangesResponse getChanges(String since, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ApiException("Limit must be between 1 and " + MAX_LIMIT, HttpStatus.BAD_REQUEST);
+        }
+        String username = SecurityUtils.getCurrentUsername();
+        long now = nowEpochSecond();
+        long sinceSeq = since == null ? 0 : decode(since, now);
+        // Read before the query, so every change up to it is already visible to the query
+        long settledSeq = changeSequenceGenerator.settled(username);
+        log.debug("Getting word changes for user: {} since sequence: {} up to: {}, limit: {}", username, sinceSeq, settledSeq, limit);
+
+        Criteria criteria = Criteria.where("username").is(username).and("changeSeq").gt(sinceSeq).lte(settledSeq);
+        if (since == null) {
+            criteria = criteria.and("deleted").ne(true);
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "changeSeq"))
+                .limit(limit + 1);
+        List<Word> words = mongoTemplate.find(query, Word.class);
+
+        boolean hasMore = words.size() > limit;
+        List<Word> page = hasMore ? words.subList(0, limit) : words;
+        List<WordResponse> changed = new ArrayList<>();
+        List<UUID> deleted = new ArrayList<>();
+        long lastSeq = sinceSeq;
+        for (Word word : page) {
+            if (word.isDeleted()) {
+                deleted.add(word.getId());
+            } else {
+                changed.add(toWordResponseMapper.map(word));
+            }
+            lastSeq = word.getChangeSeq();
+        }
+        log.debug("Returning {} changed and {} deleted words for user: {}, has more: {}",
+                changed.size(), deleted.size(), username, hasMore);
+        return WordChangesResponse.builder()
+                .changed(changed)
+                .deleted(deleted)
+                .next(encode(lastSeq, now))
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private long nowEpochSecond() {
+        return dateTimeGenerator.now().atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    private static String encode(long seq, long issuedAt) {
+        String token = seq + "-" + issuedAt;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static long decode(String token, long now) {
+        long seq;
+        long issuedAt;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            int separator = decoded.indexOf('-');
+            seq = Long.parseLong(decoded.substring(0, separator));
+            issuedAt = Long.parseLong(decoded.substring(separator + 1));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new ApiException("Invalid sync token", HttpStatus.BAD_REQUEST, e);
+        }
+        if (now - issuedAt > TOKEN_TTL.toSeconds()) {
+            throw new ApiException("Sync token expired", HttpStatus.GONE);
+        }
+        return seq;
+    }
+}
@@ -1,27 +1,65 @@
 package com.abadeksvp.vocabbackend.service.impl;
 
+import com.abadeksvp.vocabbackend.configuration.BatchGenerationConfiguration;
 import com.abadeksvp.vocabbackend.exceptions.ApiException;
 import com.abadeksvp.vocabbackend.mapping.mapper.WordToWordResponseMapper;
+import com.abadeksvp.vocabbackend.model.BatchGenerationStrategy;
+import com.abadeksvp.vocabbackend.model.JobStatus;
 import com.abadeksvp.vocabbackend.model.WordStatus;
+import com.abadeksvp.vocabbackend.model.api.word.response.BatchGenerationJobResponse;
 import com.abadeksvp.vocabbackend.model.api.word.response.WordResponse;
+import com.abadeksvp.vocabbackend.model.db.BatchGenerationJob;
 import com.abadeksvp.vocabbackend.model.db.Language;
 import com.abadeksvp.vocabbackend.model.db.Word;
 import com.abadeksvp.vocabbackend.model.db.WordsBatch;
+import com.abadeksvp.vocabbackend.model.event.PendingBatchDiscardedEvent;
+import com.abadeksvp.vocabbackend.model.event.WordChangeType;
+import com.abadeksvp.vocabbackend.model.event.WordChangedEvent;
+import com.abadeksvp.vocabbackend.model.event.WordsBatchChangedEvent;
+import com.abadeksvp.vocabbackend.repository.BatchGenerationJobRepository;
 import com.abadeksvp.vocabbackend.repository.WordBatchRepository;
 import com.abadeksvp.vocabbackend.repository.WordRepository;
 import com.abadeksvp.vocabbackend.security.SecurityUtils;
 import com.abadeksvp.vocabbackend.service.DateTimeGenerator;
 import com.abadeksvp.vocabbackend.service.UuidGenerator;
 import com.abadeksvp.vocabbackend.service.WordsBatchService;
+import com.mongodb.client.result.UpdateResult;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.Fields;
+import org.springframework.data.mongodb.core.aggregation.SetOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
 @Service
 @Slf4j
 public class WordsBatchServiceImpl implements WordsBatchService {
@@ -35,25 +73,320 @@ public class WordsBatchServiceImpl implements WordsBatchService {
     private final Shuffler shuffler;
     private final DateTimeGenerator dateTimeGenerator;
     private final UuidGenerator uuidGenerator;
+    private final MongoTemplate mongoTemplate;
+    private final BatchGenerationJobRepository jobRepository;
+    private final TaskExecutor generationExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long jobLeaseMillis;
+    /**
+     * Jobs queued or running on this instance, whose leases it renews.
+     */
+    private final Set<UUID> leasedJobs = ConcurrentHashMap.newKeySet();
 
     public WordsBatchServiceImpl(WordRepository wordRepository,
                                  WordBatchRepository batchRepository,
                                  WordToWordResponseMapper toWordResponseMapper,
                                  Shuffler shuffler,
-                                 DateTimeGenerator dateTimeGenerator, UuidGenerator uuidGenerator) {
+                                 DateTimeGenerator dateTimeGenerator, UuidGenerator uuidGenerator,
+                                 MongoTemplate mongoTemplate,
+                                 BatchGenerationJobRepository jobRepository,
+                                 @Qualifier(BatchGenerationConfiguration.BATCH_GENERATION_EXECUTOR) TaskExecutor generationExecutor,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${vocab.batch.generation.lease:2m}") Duration jobLease) {
         this.wordRepository = wordRepository;
         this.batchRepository = batchRepository;
         this.toWordResponseMapper = toWordResponseMapper;
         this.shuffler = shuffler;
         this.dateTimeGenerator = dateTimeGenerator;
         this.uuidGenerator = uuidGenerator;
+        this.mongoTemplate = mongoTemplate;
+        this.jobRepository = jobRepository;
+        this.generationExecutor = generationExecutor;
+        this.eventPublisher = eventPublisher;
+        this.jobLeaseMillis = jobLease.toMillis();
+    }
+
+    @Override
+    public void generate(int size, Language language, BatchGenerationStrategy strategy) {
+        generate(SecurityUtils.getCurrentUsername(), size, language, strategy);
+    }
+
+    @Override
+    public BatchGenerationJobResponse startGeneration(int size, Language language, BatchGenerationStrategy strategy) {
+        String username = SecurityUtils.getCurrentUsername();
+        failExpiredJobs(username);
+        BatchGenerationJob job;
+        try {
+            job = jobRepository.insert(BatchGenerationJob.builder()
+                    .id(uuidGenerator.generate())
+                    .username(username)
+                    .language(language)
+                    .size(size)
+                    .strategy(strategy)
+                    .status(JobStatus.PENDING)
+                    .createDate(dateTimeGenerator.now())
+                    .active(true)
+                    .leaseUntil(leaseUntil())
+                    .build());
+        } catch (DuplicateKeyException e) {
+            log.debug("Batch generation is already in progress for user: {}", username);
+            throw new ApiException("Batch generation is already in progress", HttpStatus.CONFLICT);
+        }
+        leasedJobs.add(job.getId());
+        try {
+            generationExecutor.execute(() -> runJob(job));
+        } catch (TaskRejectedException e) {
+            leasedJobs.remove(job.getId());
+            finishJob(job, JobStatus.FAILED, null, "Too many batch generations in progress");
+            throw new ApiException("Too many batch generations in progress", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        log.debug("Batch generation job {} queued for user: {}, size: {}", job.getId(), username, size);
+        return toJobResponse(job);
     }
 
     @Override
-    public void generate(int size, Language language) {
+    public BatchGenerationJobResponse getJob(UUID jobId) {
         String username = SecurityUtils.getCurrentUsername();
-        log.debug("Generating words batch for user: {}, language: {}, size: {}", username, language, size);
-        List<Word> words = wordRepository.findByUsernameAndLanguage(username, language);
+        return jobRepository.findByIdAndUsername(jobId, username)
+                .map(this::toJobResponse)
+                .orElseThrow(() -> {
+                    log.debug("Batch generation job {} not found for user: {}", jobId, username);
+                    return new ApiException("Job not found", HttpStatus.NOT_FOUND);
+                });
+    }
+
+    private void runJob(BatchGenerationJob job) {
+        try {
+            UpdateResult started = mongoTemplate.updateFirst(query(where("_id").is(job.getId()).and("active").is(true)),
+                    Update.update("status", JobStatus.RUNNING), BatchGenerationJob.class);
+            if (started.getMatchedCount() == 0) {
+                log.debug("Batch generation job {} expired before it started", job.getId());
+                return;
+            }
+            job.setStatus(JobStatus.RUNNING);
+            int generated = generate(job.getUsername(), job.getSize(), job.getLanguage(), job.getStrategy());
+            finishJob(job, JobStatus.COMPLETED, generated, null);
+        } catch (RuntimeException e) {
+            log.warn("Batch generation job {} failed", job.getId(), e);
+            finishJob(job, JobStatus.FAILED, null, e.getMessage());
+        } finally {
+            leasedJobs.remove(job.getId());
+        }
+    }
+
+    /**
+     * Only an active job is finished, so a job already failed as expired keeps that outcome.
+     */
+    private void finishJob(BatchGenerationJob job, JobStatus status, Integer generated, String error) {
+        job.setStatus(status);
+        job.setGenerated(generated);
+        job.setError(error);
+        job.setFinishDate(dateTimeGenerator.now());
+        job.setActive(null);
+        mongoTemplate.updateFirst(query(where("_id").is(job.getId()).and("active").is(true)),
+                Update.update("status", status)
+                        .set("generated", generated)
+                        .set("error", error)
+                        .set("finishDate", job.getFinishDate())
+                        .unset("active"),
+                BatchGenerationJob.class);
+    }
+
+    /**
+     * Renews the leases of the jobs of this instance and fails the jobs whose instance stopped
+     * renewing them.
+     */
+    @Scheduled(fixedDelayString = "${vocab.batch.generation.heartbeat:30s}")
+    public void renewJobLeases() {
+        if (!leasedJobs.isEmpty()) {
+            mongoTemplate.updateMulti(query(where("_id").in(leasedJobs).and("active").is(true)),
+                    Update.update("leaseUntil", leaseUntil()), BatchGenerationJob.class);
+        }
+        failExpiredJobs(null);
+    }
+
+    /**
+     * @param username the user whose jobs to check, or null for all users
+     */
+    private void failExpiredJobs(@Nullable String username) {
+        Criteria expired = where("active").is(true).and("leaseUntil").lt(new Date());
+        if (username != null) {
+            expired.and("username").is(username);
+        }
+        UpdateResult result = mongoTemplate.updateMulti(query(expired),
+                Update.update("status", JobStatus.FAILED)
+                        .set("error", "Batch generation stopped responding")
+                        .set("finishDate", dateTimeGenerator.now())
+                        .unset("active"),
+                BatchGenerationJob.class);
+        if (result.getModifiedCount() > 0) {
+            log.warn("Failed {} batch generation jobs whose lease expired", result.getModifiedCount());
+        }
+    }
+
+    private Date leaseUntil() {
+        return new Date(System.currentTimeMillis() + jobLeaseMillis);
+    }
+
+    private BatchGenerationJobResponse toJobResponse(BatchGenerationJob job) {
+        return BatchGenerationJobResponse.builder()
+                .id(job.getId())
+                .status(job.getStatus())
+                .language(job.getLanguage())
+                .size(job.getSize())
+                .strategy(job.getStrategy())
+                .generated(job.getGenerated())
+                .error(job.getError())
+                .createDate(job.getCreateDate())
+                .finishDate(job.getFinishDate())
+                .build();
+    }
+
+    private int generate(String username, int size, Language language, BatchGenerationStrategy strategy) {
+        log.debug("Generating words batch for user: {}, language: {}, size: {}, strategy: {}", username, language, size, strategy);
+        int swapped = swapInPending(username, language, size, strategy);
+        if (swapped >= 0) {
+            eventPublisher.publishEvent(new WordsBatchChangedEvent(username, language));
+            log.debug("Pregenerated words batch of {} words swapped in for user: {}", swapped, username);
+            return swapped;
+        }
+        List<UUID> resultIds = select(username, language, size, strategy, List.of());
+        log.debug("Total words in batch: {}", resultIds.size());
+
+        WordsBatch batch = batchRepository.findByUsernameAndLanguage(username, language)
+                .orElse(createNewBatch(username, language));
+        batch.setWords(resultIds);
+        batch.setSize(size);
+        batch.setStrategy(strategy);
+        batch.setPendingWords(null);
+        batch.setLastUpdateDate(dateTimeGenerator.now());
+        batchRepository.save(batch);
+        eventPublisher.publishEvent(new WordsBatchChangedEvent(username, language));
+        log.debug("Words batch generated and saved successfully for user: {}", username);
+        return resultIds.size();
+    }
+
+    @Override
+    public void pregenerate(String username, Language language) {
+        WordsBatch batch = batchRepository.findByUsernameAndLanguage(username, language).orElse(null);
+        if (batch == null || batch.getSize() == null || batch.getStrategy() == null) {
+            return;
+        }
+        List<UUID> current = batch.getWords() == null ? List.of() : batch.getWords();
+        List<UUID> pendingIds = select(username, language, batch.getSize(), batch.getStrategy(), current);
+        // A generation with another size or strategy may have happened meanwhile
+        UpdateResult result = mongoTemplate.updateFirst(query(where("_id").is(batch.getId())
+                        .and("size").is(batch.getSize())
+                        .and("strategy").is(batch.getStrategy())),
+                Update.update("pendingWords", pendingIds), WordsBatch.class);
+        log.debug("Pregenerated {} words for user: {}, language: {}, stored: {}",
+                pendingIds.size(), username, language, result.getModifiedCount() > 0);
+    }
+
+    @Override
+    public void discardPending(String username, Language language) {
+        UpdateResult result = mongoTemplate.updateFirst(query(where("username").is(username)
+                        .and("language").is(language)
+                        .and("strategy").is(BatchGenerationStrategy.SPACED_REPETITION)
+                        .and("pendingWords").ne(null)),
+                new Update().unset("pendingWords"), WordsBatch.class);
+        if (result.getModifiedCount() > 0) {
+            eventPublisher.publishEvent(new PendingBatchDiscardedEvent(username, language));
+            log.debug("Discarded pending batch of user: {}, language: {}", username, language);
+        }
+    }
+
+    /**
+     * @return the number of words swapped in, or -1 when there was no matching pending batch
+     */
+    private int swapInPending(String username, Language language, int size, BatchGenerationStrategy strategy) {
+        Query query = query(where("username").is(username)
+                .and("language").is(language)
+                .and("size").is(size)
+                .and("strategy").is(strategy)
+                .and("pendingWords").ne(null));
+        AggregationUpdate swap = AggregationUpdate.update()
+                .set(SetOperation.set("words").toValueOf(Fields.field("pendingWords")))
+                .set("lastUpdateDate").toValue(dateTimeGenerator.now())
+                .unset("pendingWords");
+        WordsBatch previous = mongoTemplate.findAndModify(query, swap, WordsBatch.class);
+        return previous == null ? -1 : previous.getPendingWords().size();
+    }
+
+    /**
+     * @param currentIds words of the batch being studied; the most overdue words are picked past
+     *                   them, while a random pick is fresh anyway
+     */
+    private List<UUID> select(String username, Language language, int size, BatchGenerationStrategy strategy,
+                              List<UUID> currentIds) {
+        return switch (strategy) {
+            case RANDOM -> selectRandom(username, language, size);
+            case SPACED_REPETITION -> selectMostOverdue(username, language, size, currentIds);
+        };
+    }
+
+    /**
+     * Keeps the stored batch fresh without regenerating it: a word that was deleted or learned is
+     * swapped in place for one picked by the batch's strategy, or pulled when there is none left.
+     */
+    @EventListener
+    public void onWordChanged(WordChangedEvent event) {
+        boolean leavesBatch = event.getType() == WordChangeType.DELETED
+                || event.getType() == WordChangeType.STATUS_CHANGED && event.getStatus() == WordStatus.LEARNED;
+        if (!leavesBatch) {
+            return;
+        }
+        String username = event.getUsername();
+        mongoTemplate.updateFirst(query(where("username").is(username)
+                        .and("language").is(event.getLanguage())
+                        .and("pendingWords").is(event.getWordId())),
+                new Update().pull("pendingWords", event.getWordId()), WordsBatch.class);
+        WordsBatch batch = batchRepository.findByUsernameAndLanguage(username, event.getLanguage()).orElse(null);
+        if (batch == null || batch.getWords() == null || !batch.getWords().contains(event.getWordId())) {
+            return;
+        }
+        UUID replacement = selectReplacement(username, event.getLanguage(), batch);
+        Update update = replacement == null
+                ? new Update().pull("words", event.getWordId())
+                : Update.update("words.$", replacement);
+        update.set("lastUpdateDate", dateTimeGenerator.now());
+        UpdateResult result = mongoTemplate.updateFirst(
+                query(where("_id").is(batch.getId()).and("words").is(event.getWordId())), update, WordsBatch.class);
+        if (result.getModifiedCount() > 0) {
+            eventPublisher.publishEvent(new WordsBatchChangedEvent(username, event.getLanguage()));
+            log.debug("Replaced word {} in batch of user {} with {}", event.getWordId(), username,
+                    replacement == null ? "nothing" : replacement);
+        }
+    }
+
+    /**
+     * Spaced repetition takes the next most overdue word past the batch; random batches, and batches
+     * stored before strategies were kept, take a random TO_LEARN word.
+     */
+    @Nullable
+    private UUID selectReplacement(String username, Language language, WordsBatch batch) {
+        if (batch.getStrategy() == BatchGenerationStrategy.SPACED_REPETITION) {
+            return selectMostOverdue(username, language, 1, batch.getWords()).stream().findFirst().orElse(null);
+        }
+        Word sampled = sampleReplacement(username, language, batch.getWords());
+        return sampled == null ? null : sampled.getId();
+    }
+
+    @Nullable
+    private Word sampleReplacement(String username, Language language, List<UUID> batchWords) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(where("username").is(username)
+                        .and("language").is(language)
+                        .and("status").is(WordStatus.TO_LEARN)
+                        .and("deleted").ne(true)
+                        .and("_id").nin(batchWords)),
+                Aggregation.sample(1),
+                Aggregation.project("_id"));
+        return mongoTemplate.aggregate(aggregation, Word.class, Word.class).getUniqueMappedResult();
+    }
+
+    private List<UUID> selectRandom(String username, Language language, int size) {
+        List<Word> words = wordRepository.findActiveByUsernameAndLanguage(username, language);
         log.debug("Found {} total words for user {} and language {}", words.size(), username, language);
 
         double toLearnSize = Math.floor(size * TO_LEARN_PERCENTAGE);
@@ -66,14 +399,15 @@ public class WordsBatchServiceImpl implements WordsBatchService {
 
         List<UUID> resultIds = new ArrayList<>(shuffleToLearnIds);
         resultIds.addAll(shuffleLearnedIds);
-        log.debug("Total words in batch: {}", resultIds.size());
+        return resultIds;
+    }
 
-        WordsBatch batch = batchRepository.findByUsernameAndLanguage(username, language)
-                .orElse(createNewBatch(username, language));
-        batch.setWords(resultIds);
-        batch.setLastUpdateDate(dateTimeGenerator.now());
-        batchRepository.save(batch);
-        log.debug("Words batch generated and saved successfully for user: {}", username);
+    private List<UUID> selectMostOverdue(String username, Language language, int size, List<UUID> excludedIds) {
+        List<UUID> ids = wordRepository.findMostOverdue(username, language, excludedIds, Limit.of(size)).stream()
+                .map(Word::getId)
+                .collect(Collectors.toList());
+        log.debug("Selected {} most overdue words for batch", ids.size());
+        return ids;
     }
 
     private WordsBatch createNewBatch(String username, Language language) {
@@ -94,17 +428,21 @@ public class WordsBatchServiceImpl implements WordsBatchService {
     }
 
     @Override
-    public List<WordResponse> getBatch(Language language) {
+    public List<WordResponse> getBatch(Language language, int page, int size) {
         String username = SecurityUtils.getCurrentUsername();
-        log.debug("Getting words batch for user: {} and language: {}", username, language);
-        WordsBatch batch = batchRepository.findByUsernameAndLanguage(username, language)
+        log.debug("Getting words batch for user: {} and language: {}, page: {}, size: {}", username, language, page, size);
+        int skip = (int) Math.min(PageRequest.of(page, size).getOffset(), Integer.MAX_VALUE);
+        WordsBatch batch = batchRepository.findPageByUsernameAndLanguage(username, language, skip, size)
                 .orElseThrow(() -> {
                     log.debug("Batch not found for user: {} and language: {}", username, language);
                     return new ApiException("Batch not found", HttpStatus.NOT_FOUND);
                 });
-        log.debug("Found batch with {} words for user: {}", batch.getWords().size(), username);
-        List<Word> words = wordRepository.findAllByIdIn(batch.getWords());
+        List<UUID> ids = batch.getWords() == null ? List.of() : batch.getWords();
+        log.debug("Found batch page with {} words for user: {}", ids.size(), username);
+        List<Word> words = new ArrayList<>(wordRepository.findActiveByIdIn(ids));
         log.debug("Retrieved {} words from database for batch", words.size());
+        UuidIndex index = new UuidIndex(ids);
+        words.sort(Comparator.comparingInt(word -> index.positionOf(word.getId())));
         List<WordResponse> result = toWordResponseMapper.mapAll(words);
         log.debug("Returning batch with {} word responses to user: {}", result.size(), username);
         return result;
@@ -0,0 +1,108 @@
+package com.abadeksvp.vocabbackend.web;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that follows the measured latency. Latencies are averaged over windows of
+ * samples, and each closed window is compared with a smoothed baseline of the windows before it:
+ * when the window is slower than the baseline by the tolerance the limit is cut multiplicatively,
+ * otherwise it grows by one if the limit was being used. Requests over the limit are rejected
+ * rather than queued.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    /**
+     * Weight of the latest window in the baseline, so a lasting change of latency becomes the new normal.
+     */
+    private static final double BASELINE_SMOOTHING = 0.1;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int windowSize;
+    private final double tolerance;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicReference<Window> window = new AtomicReference<>(new Window());
+    private final AtomicReference<State> state;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int windowSize,
+                                      double tolerance, double backoffRatio) {
+        if (minLimit <= 0 || minLimit > maxLimit || windowSize <= 0 || tolerance < 1 || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Invalid concurrency limit settings");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowSize = windowSize;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.state = new AtomicReference<>(new State(Math.clamp(initialLimit, minLimit, maxLimit), 0));
+    }
+
+    /**
+     * @return whether the request may proceed; when it does, {@link #release} or {@link #releaseUnsampled} must follow
+     */
+    public boolean tryAcquire() {
+        int current = inFlight.incrementAndGet();
+        if (current > getLimit()) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Ends a request admitted by {@link #tryAcquire} and feeds its latency into the limit.
+     */
+    public void release(long latencyNanos) {
+        int current = inFlight.getAndDecrement();
+        Window sampled = window.get();
+        sampled.latencySum.add(latencyNanos);
+        sampled.maxInFlight.accumulateAndGet(current, Math::max);
+        // Exactly one release fills the window, and it alone closes it
+        if (sampled.samples.incrementAndGet() == windowSize && window.compareAndSet(sampled, new Window())) {
+            double average = (double) sampled.latencySum.sum() / windowSize;
+            int maxInFlight = sampled.maxInFlight.get();
+            state.updateAndGet(previous -> next(previous, average, maxInFlight));
+        }
+    }
+
+    /**
+     * Ends a request without sampling it, for responses that did not do the work the limit protects.
+     */
+    public void releaseUnsampled() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) state.get().limit();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private State next(State previous, double averageNanos, int maxInFlight) {
+        if (previous.baselineNanos() == 0) {
+            return new State(grow(previous.limit(), maxInFlight), averageNanos);
+        }
+        double limit = averageNanos > previous.baselineNanos() * tolerance
+                ? Math.max(minLimit, previous.limit() * backoffRatio)
+                : grow(previous.limit(), maxInFlight);
+        return new State(limit, previous.baselineNanos() + BASELINE_SMOOTHING * (averageNanos - previous.baselineNanos()));
+    }
+
+    private double grow(double limit, int maxInFlight) {
+        return maxInFlight * 2 >= limit ? Math.min(maxLimit, limit + 1) : limit;
+    }
+
+    private record State(double limit, double baselineNanos) {
+    }
+
+    private static final class Window {
+        private final LongAdder latencySum = new LongAdder();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+        private final AtomicInteger samples = new AtomicInteger();
+    }
+}
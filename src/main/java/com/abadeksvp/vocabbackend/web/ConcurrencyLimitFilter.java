@@ -0,0 +1,94 @@
+package com.abadeksvp.vocabbackend.web;
+
+import com.abadeksvp.vocabbackend.configuration.ConcurrencyLimitProperties;
+import com.abadeksvp.vocabbackend.exceptions.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sheds API requests with 503 once the adaptive concurrency limit of their {@link EndpointClass}
+ * is reached, so a slow database does not pile up request threads.
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String SUGGEST_PATH = "/v1/words/suggest";
+
+    private final Map<EndpointClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rejections = new EnumMap<>(EndpointClass.class);
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        properties.getLimits().forEach((endpointClass, limit) -> {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(limit.getInitial(), limit.getMin(),
+                    limit.getMax(), properties.getWindow(), properties.getTolerance(), properties.getBackoffRatio());
+            limiters.put(endpointClass, limiter);
+            String tag = endpointClass.name().toLowerCase();
+            Gauge.builder("vocab.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("vocab.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            rejections.put(endpointClass, Counter.builder("vocab.concurrency.rejected")
+                    .tag("class", tag)
+                    .register(meterRegistry));
+        });
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = EndpointClass.of(request);
+        AdaptiveConcurrencyLimiter limiter = limiters.get(endpointClass);
+        if (limiter == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            rejections.get(endpointClass).increment();
+            log.debug("Concurrency limit {} of {} reached, shedding {}", limiter.getLimit(), endpointClass, request.getRequestURI());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(List.of("Service is overloaded")));
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (isCheap(request, response)) {
+                limiter.releaseUnsampled();
+            } else {
+                limiter.release(System.nanoTime() - started);
+            }
+        }
+    }
+
+    /**
+     * Responses answered without reading words, which would drag the latency baseline down.
+     */
+    private static boolean isCheap(HttpServletRequest request, HttpServletResponse response) {
+        int status = response.getStatus();
+        return status == HttpStatus.NOT_MODIFIED.value()
+                || status == HttpStatus.UNAUTHORIZED.value()
+                || status == HttpStatus.FORBIDDEN.value()
+                || request.getRequestURI().endsWith(SUGGEST_PATH);
+    }
+}
@@ -0,0 +1,28 @@
+package com.abadeksvp.vocabbackend.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+
+/**
+ * Groups API endpoints by how much they cost, so limits can be set per group.
+ */
+public enum EndpointClass {
+    READ,
+    WRITE,
+    GENERATE,
+    AUTH;
+
+    public static EndpointClass of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/v1/login") || path.startsWith("/v1/signup")) {
+            return AUTH;
+        }
+        if (HttpMethod.POST.matches(request.getMethod()) && path.startsWith("/v1/words-batch/generate")) {
+            return GENERATE;
+        }
+        if (HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())) {
+            return READ;
+        }
+        return WRITE;
+    }
+}
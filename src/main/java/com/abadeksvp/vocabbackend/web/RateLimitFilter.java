@@ -0,0 +1,49 @@
+package com.abadeksvp.vocabbackend.web;
+
+import com.abadeksvp.vocabbackend.exceptions.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Rejects requests of a user, or of an address before login, that exceed the token bucket of their
+ * {@link EndpointClass} in {@link RateLimits} with 429 and {@code Retry-After}. Runs after Spring Security so the user is
+ * known.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimits rateLimits;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimits rateLimits, ObjectMapper objectMapper) {
+        this.rateLimits = rateLimits;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = EndpointClass.of(request);
+        long waitMillis = rateLimits.tryAcquire(endpointClass, request, 1);
+        if (waitMillis == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        log.debug("Rate limit of {} exceeded for {}", endpointClass, RateLimits.callerOf(request));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (waitMillis + 999) / 1000)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(List.of("Too many requests")));
+    }
+}
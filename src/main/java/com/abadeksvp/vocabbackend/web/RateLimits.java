@@ -0,0 +1,46 @@
+package com.abadeksvp.vocabbackend.web;
+
+import com.abadeksvp.vocabbackend.configuration.RateLimitProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Token buckets of every {@link EndpointClass}, per user, or per address before login.
+ * {@link RateLimitFilter} takes one token per request; endpoints that do the work of several
+ * requests take the rest themselves.
+ */
+public class RateLimits {
+
+    private final Map<EndpointClass, TokenBucketLimiter<String>> limiters = new EnumMap<>(EndpointClass.class);
+
+    public RateLimits(RateLimitProperties properties) {
+        properties.getLimits().forEach((endpointClass, limit) ->
+                limiters.put(endpointClass, new TokenBucketLimiter<>(limit.getCapacity(), limit.getRefillPerSecond())));
+    }
+
+    /**
+     * @return 0 when the tokens were taken, otherwise the milliseconds until they are available
+     */
+    public long tryAcquire(EndpointClass endpointClass, HttpServletRequest request, int tokens) {
+        TokenBucketLimiter<String> limiter = limiters.get(endpointClass);
+        return limiter == null || tokens <= 0 ? 0 : limiter.tryAcquirePermits(callerOf(request), tokens);
+    }
+
+    public void evictIdle(long idleMillis) {
+        limiters.values().forEach(limiter -> limiter.evictIdle(idleMillis));
+    }
+
+    static String callerOf(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return authentication.getName();
+        }
+        return "address:" + request.getRemoteAddr();
+    }
+}
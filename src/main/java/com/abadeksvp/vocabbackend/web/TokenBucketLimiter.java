@@ -0,0 +1,91 @@
+package com.abadeksvp.vocabbackend.web;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets keyed by caller. The state of a bucket is one packed long, the last refill time in
+ * the high bits and the remaining thousandths of a token in the low bits, updated with CAS so
+ * callers never block each other.
+ */
+public class TokenBucketLimiter<K> {
+
+    private static final int TOKEN_BITS = 22;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long TOKEN = 1000;
+    public static final int MAX_CAPACITY = (int) (TOKEN_MASK / TOKEN);
+
+    private final ConcurrentHashMap<K, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final long capacity;
+    private final double refillPerMilli;
+    private final long origin = System.nanoTime();
+
+    public TokenBucketLimiter(int capacity, double refillPerSecond) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY
+                    + " and refill rate must be positive");
+        }
+        this.capacity = capacity * TOKEN;
+        // Thousandths of a token per millisecond equal tokens per second
+        this.refillPerMilli = refillPerSecond;
+    }
+
+    /**
+     * @return 0 when a token was taken, otherwise the milliseconds until the next token is available
+     */
+    public long tryAcquire(K key) {
+        return tryAcquire(key, 1, nowMillis());
+    }
+
+    /**
+     * Takes {@code permits} tokens at once, or none. More than the capacity counts as the capacity.
+     *
+     * @return 0 when the tokens were taken, otherwise the milliseconds until they are available
+     */
+    public long tryAcquirePermits(K key, int permits) {
+        return tryAcquire(key, permits, nowMillis());
+    }
+
+    long tryAcquire(K key, long now) {
+        return tryAcquire(key, 1, now);
+    }
+
+    long tryAcquire(K key, int permits, long now) {
+        long needed = Math.min(capacity, permits * TOKEN);
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(pack(now, capacity)));
+        }
+        while (true) {
+            long state = bucket.get();
+            long elapsed = Math.max(0, now - (state >>> TOKEN_BITS));
+            long tokens = Math.min(capacity, (state & TOKEN_MASK) + (long) (elapsed * refillPerMilli));
+            if (tokens < needed) {
+                return (long) Math.ceil((needed - tokens) / refillPerMilli);
+            }
+            if (bucket.compareAndSet(state, pack(Math.max(now, state >>> TOKEN_BITS), tokens - needed))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that were not used for {@code idleMillis}; they would be full again by now.
+     */
+    public void evictIdle(long idleMillis) {
+        long now = nowMillis();
+        buckets.values().removeIf(bucket -> now - (bucket.get() >>> TOKEN_BITS) > idleMillis);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private long nowMillis() {
+        return (System.nanoTime() - origin) / 1_000_000;
+    }
+
+    private static long pack(long millis, long tokens) {
+        return millis << TOKEN_BITS | tokens;
+    }
+}
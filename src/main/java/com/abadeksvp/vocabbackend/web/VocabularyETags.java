@@ -0,0 +1,39 @@
+package com.abadeksvp.vocabbackend.web;
+
+import com.abadeksvp.vocabbackend.model.db.Language;
+import com.abadeksvp.vocabbackend.security.SecurityUtils;
+import com.abadeksvp.vocabbackend.service.VocabularyVersionService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Answers conditional reads of the current user's vocabulary from its version alone, so an
+ * unchanged vocabulary is confirmed with a 304 before any query runs.
+ */
+@Component
+public class VocabularyETags {
+
+    private static final String CACHE_CONTROL = "private, no-cache";
+
+    private final VocabularyVersionService versionService;
+
+    public VocabularyETags(VocabularyVersionService versionService) {
+        this.versionService = versionService;
+    }
+
+    public boolean checkNotModified(ServletWebRequest request, @Nullable Language language) {
+        String username = SecurityUtils.getCurrentUsername();
+        String discriminator = request.getRequest().getRequestURI() + "?" + request.getRequest().getQueryString()
+                + "|" + request.getHeader(HttpHeaders.ACCEPT);
+        String etag = versionService.etag(username, language, discriminator);
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return request.checkNotModified(etag);
+    }
+}
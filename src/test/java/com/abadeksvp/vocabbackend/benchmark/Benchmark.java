@@ -0,0 +1,90 @@
+package com.abadeksvp.vocabbackend.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Warmup and timing shared by the tests tagged as benchmark: an operation is run untimed until the
+ * JIT has settled, then timed over the measured iterations.
+ */
+public final class Benchmark {
+
+    private Benchmark() {
+    }
+
+    /**
+     * @return the result of the last measured run and the average time of one run
+     */
+    public static <T> Result<T> measure(int warmupIterations, int measuredIterations, Operation<T> operation)
+            throws Exception {
+        for (int i = 0; i < warmupIterations; i++) {
+            operation.run();
+        }
+        T last = null;
+        long started = System.nanoTime();
+        for (int i = 0; i < measuredIterations; i++) {
+            last = operation.run();
+        }
+        return new Result<>(last, (System.nanoTime() - started) / measuredIterations);
+    }
+
+    /**
+     * Runs the operation on {@code threads} threads released together, each running it the given
+     * number of iterations.
+     *
+     * @return the average wall time of one iteration across all threads
+     */
+    public static Result<Void> measureConcurrently(int threads, int warmupIterations, int measuredIterations,
+                                                   ThreadOperation operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            runConcurrently(executor, threads, warmupIterations, operation);
+            long started = System.nanoTime();
+            runConcurrently(executor, threads, measuredIterations, operation);
+            return new Result<>(null, (System.nanoTime() - started) / measuredIterations);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void runConcurrently(ExecutorService executor, int threads, int iterations,
+                                        ThreadOperation operation) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            int index = thread;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < iterations; i++) {
+                    operation.run(index);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    public record Result<T>(T last, long nanos) {
+
+        public long micros() {
+            return nanos / 1000;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Operation<T> {
+        T run() throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface ThreadOperation {
+        void run(int thread) throws Exception;
+    }
+}
@@ -0,0 +1,82 @@
+package com.abadeksvp.vocabbackend.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    private SingleFlight<String, String> singleFlight;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", meterRegistry);
+    }
+
+    @Test
+    public void concurrentCallsShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute("key", () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "value";
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> singleFlight.execute("key", () -> {
+            loads.incrementAndGet();
+            return "other";
+        }));
+        while (coalesced() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertEquals("value", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("value", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals("again", singleFlight.execute("key", () -> "again"));
+    }
+
+    @Test
+    public void failureIsNotRemembered() {
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("key", () -> {
+            throw new IllegalStateException();
+        }));
+        assertEquals("value", singleFlight.execute("key", () -> "value"));
+    }
+
+    @Test
+    public void onlyOverlappingArrivalsAreContended() {
+        assertFalse(singleFlight.arrive("key"));
+        assertTrue(singleFlight.arrive("key"));
+        assertFalse(singleFlight.arrive("other"));
+        singleFlight.leave("key");
+        singleFlight.leave("key");
+        singleFlight.leave("other");
+        assertFalse(singleFlight.arrive("key"));
+    }
+
+    private double coalesced() {
+        return meterRegistry.counter("vocab.singleflight.calls", "name", "test", "result", "coalesced").count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
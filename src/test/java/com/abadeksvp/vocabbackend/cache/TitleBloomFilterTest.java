@@ -0,0 +1,45 @@
+package com.abadeksvp.vocabbackend.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TitleBloomFilterTest {
+
+    @Test
+    public void addedTitlesAreAlwaysFound() {
+        TitleBloomFilter filter = new TitleBloomFilter(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("ENGLISH:word-" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("ENGLISH:word-" + i));
+        }
+        assertFalse(filter.isFull());
+    }
+
+    @Test
+    public void falsePositiveRateStaysLowAtCapacity() {
+        TitleBloomFilter filter = new TitleBloomFilter(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("ENGLISH:word-" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("SERBIAN:other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    public void filterIsFullPastCapacity() {
+        TitleBloomFilter filter = new TitleBloomFilter(2);
+        filter.add("a");
+        filter.add("b");
+        assertFalse(filter.isFull());
+        filter.add("c");
+        assertTrue(filter.isFull());
+    }
+}
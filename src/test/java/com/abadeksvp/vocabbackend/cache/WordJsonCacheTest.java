@@ -0,0 +1,159 @@
+package com.abadeksvp.vocabbackend.cache;
+
+import com.abadeksvp.vocabbackend.configuration.WordJsonCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WordJsonCacheTest {
+
+    private static final int SLAB_BYTES = 64 * 1024;
+
+    private WordJsonCache cache;
+    private SimpleMeterRegistry meterRegistry;
+    private final byte[] transfer = new byte[16];
+
+    @BeforeEach
+    public void init() {
+        cache = cache(1, SLAB_BYTES);
+    }
+
+    @Test
+    public void cachedJsonIsServedForSameVersionOnly() throws IOException {
+        UUID id = UUID.randomUUID();
+        byte[] json = "{\"id\":1,\"title\":\"glow\"}".getBytes(StandardCharsets.UTF_8);
+        cache.put(id, 10L, cache.stamp(), json, json.length);
+
+        assertEquals("{\"id\":1,\"title\":\"glow\"}", read(id, 10L));
+        assertNull(read(id, 11L));
+        assertEquals(json.length, meterRegistry.counter("vocab.word.json.cache.served").count());
+    }
+
+    @Test
+    public void invalidationDropsEntryAndRejectsStalePut() throws IOException {
+        UUID id = UUID.randomUUID();
+        byte[] json = "{}".getBytes(StandardCharsets.UTF_8);
+        WordJsonCache.Stamp stamp = cache.stamp();
+        cache.put(id, 1L, stamp, json, json.length);
+
+        cache.invalidate(id);
+        assertNull(read(id, 1L));
+
+        cache.put(id, 1L, stamp, json, json.length);
+        assertNull(read(id, 1L));
+    }
+
+    @Test
+    public void invalidationOnlyRejectsPutsToItsOwnSegment() throws IOException {
+        cache = cache(2, 2 * SLAB_BYTES);
+        UUID invalidated = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        while (sameSegment(invalidated, other, 2)) {
+            other = UUID.randomUUID();
+        }
+        byte[] json = "{}".getBytes(StandardCharsets.UTF_8);
+        WordJsonCache.Stamp stamp = cache.stamp();
+
+        cache.invalidate(invalidated);
+        cache.put(invalidated, 1L, stamp, json, json.length);
+        cache.put(other, 1L, stamp, json, json.length);
+
+        assertNull(read(invalidated, 1L));
+        assertEquals("{}", read(other, 1L));
+    }
+
+    @Test
+    public void leastRecentlyUsedEntryIsEvictedWhenFull() throws IOException {
+        byte[] json = new byte[SLAB_BYTES / 2];
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        cache.put(first, 1L, cache.stamp(), json, json.length);
+        cache.put(second, 1L, cache.stamp(), json, json.length);
+        read(first, 1L);
+
+        cache.put(third, 1L, cache.stamp(), json, json.length);
+
+        assertNotNull(read(first, 1L));
+        assertNull(read(second, 1L));
+        assertNotNull(read(third, 1L));
+    }
+
+    @Test
+    public void sizeClassWithoutSlabTakesOneFromColdestClass() throws IOException {
+        byte[] large = new byte[SLAB_BYTES / 2];
+        byte[] small = "{}".getBytes(StandardCharsets.UTF_8);
+        UUID largeId = UUID.randomUUID();
+        UUID smallId = UUID.randomUUID();
+        cache.put(largeId, 1L, cache.stamp(), large, large.length);
+
+        cache.put(smallId, 1L, cache.stamp(), small, small.length);
+
+        assertEquals("{}", read(smallId, 1L));
+        assertNull(read(largeId, 1L));
+    }
+
+    @Test
+    public void entryBeingWrittenIsNotReused() throws IOException {
+        byte[] first = "{\"id\":\"first\"}".getBytes(StandardCharsets.UTF_8);
+        byte[] second = "{\"id\":\"other\"}".getBytes(StandardCharsets.UTF_8);
+        UUID id = UUID.randomUUID();
+        cache.put(id, 1L, cache.stamp(), first, first.length);
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        OutputStream invalidatingOut = new OutputStream() {
+            @Override
+            public void write(int b) {
+                written.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                if (written.size() == 0) {
+                    cache.invalidate(id);
+                    fillSmallChunks(second);
+                }
+                written.write(b, off, len);
+            }
+        };
+
+        assertTrue(cache.writeTo(id, 1L, invalidatingOut, transfer));
+        assertEquals("{\"id\":\"first\"}", written.toString(StandardCharsets.UTF_8));
+    }
+
+    private void fillSmallChunks(byte[] json) {
+        for (int i = 0; i < SLAB_BYTES / 256; i++) {
+            cache.put(UUID.randomUUID(), 1L, cache.stamp(), json, json.length);
+        }
+    }
+
+    private String read(UUID id, long version) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        return cache.writeTo(id, version, out, transfer) ? out.toString(StandardCharsets.UTF_8) : null;
+    }
+
+    private WordJsonCache cache(int segments, long maxBytes) {
+        WordJsonCacheProperties properties = new WordJsonCacheProperties();
+        properties.setSegments(segments);
+        properties.setSlabBytes(SLAB_BYTES);
+        properties.setMaxBytes(maxBytes);
+        meterRegistry = new SimpleMeterRegistry();
+        return new WordJsonCache(properties, meterRegistry);
+    }
+
+    private static boolean sameSegment(UUID first, UUID second, int segments) {
+        return segment(first, segments) == segment(second, segments);
+    }
+
+    private static int segment(UUID id, int segments) {
+        int hash = id.hashCode();
+        return ((hash ^ (hash >>> 16)) & 0x7fffffff) % segments;
+    }
+}
@@ -0,0 +1,99 @@
+package com.abadeksvp.vocabbackend.integration;
+
+import com.abadeksvp.vocabbackend.integration.helpers.TestObjectMapper;
+import com.abadeksvp.vocabbackend.integration.helpers.TestUuidGenerator;
+import com.abadeksvp.vocabbackend.integration.helpers.TestWordManager;
+import com.abadeksvp.vocabbackend.model.WordStatus;
+import com.abadeksvp.vocabbackend.model.api.batch.BatchOperationRequest;
+import com.abadeksvp.vocabbackend.model.api.batch.BatchOperationType;
+import com.abadeksvp.vocabbackend.model.api.batch.BatchRequest;
+import com.abadeksvp.vocabbackend.model.api.word.request.ChangeWordStatusRequest;
+import com.abadeksvp.vocabbackend.model.api.word.request.CreateWordRequest;
+import com.abadeksvp.vocabbackend.model.api.word.request.UpsertDefinitionRequest;
+import com.abadeksvp.vocabbackend.model.db.Language;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.util.List;
+import java.util.UUID;
+
+import static com.abadeksvp.vocabbackend.integration.helpers.TestUserManager.DEFAULT_TEST_USERNAME;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WithMockUser(username = DEFAULT_TEST_USERNAME)
+public class BatchIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private TestUuidGenerator uuidGenerator;
+
+    @Autowired
+    private TestWordManager testWordManager;
+
+    @Test
+    public void operationsRunInOrderWithResultPerItem() throws Exception {
+        testUserManager.signUpDefaultTestUser();
+        UUID existingId = UUID.randomUUID();
+        uuidGenerator.setUuid(existingId);
+        testWordManager.createWord("/request/words/create-word-glow-request.json");
+        UUID createdId = UUID.randomUUID();
+        uuidGenerator.setUuid(createdId);
+
+        BatchRequest request = BatchRequest.builder()
+                .operations(List.of(
+                        BatchOperationRequest.builder().op(BatchOperationType.CREATE).create(createRequest("shine")).build(),
+                        // The test generator hands out the same id again
+                        BatchOperationRequest.builder().op(BatchOperationType.CREATE).create(createRequest("gleam")).build(),
+                        BatchOperationRequest.builder().op(BatchOperationType.CHANGE_STATUS)
+                                .changeStatus(new ChangeWordStatusRequest(existingId, WordStatus.LEARNED)).build(),
+                        BatchOperationRequest.builder().op(BatchOperationType.GET).id(existingId).build(),
+                        BatchOperationRequest.builder().op(BatchOperationType.GET).id(UUID.randomUUID()).build(),
+                        BatchOperationRequest.builder().op(BatchOperationType.DELETE).id(createdId).build(),
+                        BatchOperationRequest.builder().op(BatchOperationType.GET).id(createdId).build(),
+                        BatchOperationRequest.builder().op(BatchOperationType.UPDATE).build()))
+                .build();
+
+        mockMvc.perform(post("/v1/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestObjectMapper.getInstance().writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(8))
+                .andExpect(jsonPath("$.results[0].status").value(200))
+                .andExpect(jsonPath("$.results[0].word.title").value("shine"))
+                .andExpect(jsonPath("$.results[1].status").value(409))
+                .andExpect(jsonPath("$.results[2].status").value(200))
+                .andExpect(jsonPath("$.results[2].word.status").value("LEARNED"))
+                .andExpect(jsonPath("$.results[3].word.status").value("LEARNED"))
+                .andExpect(jsonPath("$.results[4].status").value(404))
+                .andExpect(jsonPath("$.results[5].status").value(200))
+                .andExpect(jsonPath("$.results[6].status").value(404))
+                .andExpect(jsonPath("$.results[7].status").value(400));
+
+        mockMvc.perform(get("/v1/words/" + existingId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("LEARNED"));
+        mockMvc.perform(get("/v1/words/" + createdId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void emptyBatchIsRejected() throws Exception {
+        mockMvc.perform(post("/v1/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private CreateWordRequest createRequest(String title) {
+        return CreateWordRequest.builder()
+                .title(title)
+                .status(WordStatus.TO_LEARN)
+                .language(Language.ENGLISH)
+                .definitions(List.of(new UpsertDefinitionRequest("to give out light", List.of("The " + title + " of the stars."))))
+                .build();
+    }
+}
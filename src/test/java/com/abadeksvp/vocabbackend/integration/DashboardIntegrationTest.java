@@ -0,0 +1,52 @@
+package com.abadeksvp.vocabbackend.integration;
+
+import com.abadeksvp.vocabbackend.integration.helpers.TestUuidGenerator;
+import com.abadeksvp.vocabbackend.integration.helpers.TestWordManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.util.UUID;
+
+import static com.abadeksvp.vocabbackend.integration.helpers.TestUserManager.DEFAULT_TEST_USERNAME;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WithMockUser(username = DEFAULT_TEST_USERNAME)
+public class DashboardIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private TestUuidGenerator uuidGenerator;
+
+    @Autowired
+    private TestWordManager testWordManager;
+
+    @Test
+    public void dashboardGathersAllSections() throws Exception {
+        testUserManager.signUpDefaultTestUser();
+        for (int i = 0; i < 3; i++) {
+            uuidGenerator.setUuid(UUID.randomUUID());
+            testWordManager.createWordWithTitle("/request/words/create-word-glow-request.json", "glow-" + i);
+        }
+        uuidGenerator.setUuid(UUID.randomUUID());
+        testWordManager.createWord("/request/words/create-serbian-word-request.json");
+
+        mockMvc.perform(get("/v1/dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user.username").value(DEFAULT_TEST_USERNAME))
+                .andExpect(jsonPath("$.counts.total").value(4))
+                .andExpect(jsonPath("$.counts.byLanguage.ENGLISH").value(3))
+                .andExpect(jsonPath("$.counts.byLanguage.SERBIAN").value(1))
+                .andExpect(jsonPath("$.words.data.length()").value(3))
+                .andExpect(jsonPath("$.batch").doesNotExist())
+                .andExpect(jsonPath("$.unavailable").isEmpty());
+
+        mockMvc.perform(post("/v1/words-batch/generate").param("size", "2"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/v1/dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.batch.length()").value(1));
+    }
+}
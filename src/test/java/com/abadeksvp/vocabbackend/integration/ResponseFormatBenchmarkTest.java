@@ -0,0 +1,123 @@
+package com.abadeksvp.vocabbackend.integration;
+
+import com.abadeksvp.vocabbackend.benchmark.Benchmark;
+import com.abadeksvp.vocabbackend.model.WordStatus;
+import com.abadeksvp.vocabbackend.model.api.ResponseFormat;
+import com.abadeksvp.vocabbackend.model.api.paging.PageableDto;
+import com.abadeksvp.vocabbackend.model.api.word.response.WordResponse;
+import com.abadeksvp.vocabbackend.model.db.Definition;
+import com.abadeksvp.vocabbackend.model.db.Language;
+import com.abadeksvp.vocabbackend.model.db.Word;
+import com.abadeksvp.vocabbackend.repository.WordRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static com.abadeksvp.vocabbackend.integration.helpers.TestUserManager.DEFAULT_TEST_USERNAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Compares size, serving time and client decode time of a word page streamed from raw BSON in
+ * JSON, CBOR and Smile. Run with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+@Slf4j
+@WithMockUser(username = DEFAULT_TEST_USERNAME)
+public class ResponseFormatBenchmarkTest extends AbstractIntegrationTest {
+
+    private static final int WORDS = 50;
+    private static final int DEFINITIONS_PER_WORD = 10;
+    private static final int WARMUP_ITERATIONS = 50;
+    private static final int MEASURED_ITERATIONS = 200;
+    private static final int DECODE_WARMUP_ITERATIONS = 2_000;
+    private static final int DECODE_MEASURED_ITERATIONS = 5_000;
+    private static final TypeReference<PageableDto<WordResponse>> PAGE_TYPE = new TypeReference<>() {
+    };
+
+    @Autowired
+    private WordRepository wordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Test
+    public void compareFormats() throws Exception {
+        wordRepository.saveAll(IntStream.range(0, WORDS).mapToObj(this::word).toList());
+        Map<ResponseFormat, ObjectMapper> mappers = Map.of(
+                ResponseFormat.JSON, objectMapper,
+                ResponseFormat.CBOR, cborConverter.getObjectMapper(),
+                ResponseFormat.SMILE, smileConverter.getObjectMapper());
+
+        PageableDto<WordResponse> jsonPage = null;
+        int jsonSize = 0;
+        for (ResponseFormat format : ResponseFormat.values()) {
+            ObjectMapper mapper = mappers.get(format);
+            Benchmark.Result<byte[]> served = Benchmark.measure(WARMUP_ITERATIONS, MEASURED_ITERATIONS, () -> request(format));
+            byte[] encoded = served.last();
+            Benchmark.Result<PageableDto<WordResponse>> decoded = Benchmark.measure(DECODE_WARMUP_ITERATIONS,
+                    DECODE_MEASURED_ITERATIONS, () -> mapper.readValue(encoded, PAGE_TYPE));
+            log.info("{}: {} bytes, served in {} us, decoded in {} us", format, encoded.length, served.micros(),
+                    decoded.micros());
+
+            assertEquals(WORDS, decoded.last().getData().size());
+            if (format == ResponseFormat.JSON) {
+                jsonPage = decoded.last();
+                jsonSize = encoded.length;
+            } else {
+                assertEquals(jsonPage, decoded.last());
+                assertTrue(encoded.length <= jsonSize);
+            }
+        }
+    }
+
+    private byte[] request(ResponseFormat format) throws Exception {
+        return mockMvc.perform(get("/v1/words")
+                        .param("size", String.valueOf(WORDS))
+                        .header(HttpHeaders.ACCEPT, format.getMediaType().toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private Word word(int index) {
+        List<Definition> definitions = IntStream.range(0, DEFINITIONS_PER_WORD)
+                .mapToObj(definition -> new Definition("A fairly long definition text number " + definition,
+                        List.of("The first example sentence.", "The second example sentence.")))
+                .toList();
+        LocalDateTime now = LocalDateTime.now();
+        return Word.builder()
+                .id(UUID.randomUUID())
+                .username(DEFAULT_TEST_USERNAME)
+                .title("word" + index)
+                .transcription("wɜːd")
+                .part("noun")
+                .status(WordStatus.TO_LEARN)
+                .definitions(definitions)
+                .createDate(now)
+                .lastUpdateDate(now.plusSeconds(index))
+                .language(Language.ENGLISH)
+                .changeSeq((long) index + 1)
+                .build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.abadeksvp.vocabbackend.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class StaticResourcesIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String HASHED_ASSET = "/static/js/main.3f2a1c.js";
+
+    @Test
+    public void precompressedVariantIsServedWhenAccepted() throws Exception {
+        mockMvc.perform(get(HASHED_ASSET).header(HttpHeaders.ACCEPT_ENCODING, "br, gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")));
+
+        mockMvc.perform(get(HASHED_ASSET))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=31536000")));
+    }
+}
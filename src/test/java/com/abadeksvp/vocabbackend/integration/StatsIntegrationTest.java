@@ -0,0 +1,83 @@
+package com.abadeksvp.vocabbackend.integration;
+
+import com.abadeksvp.vocabbackend.integration.helpers.TestObjectMapper;
+import com.abadeksvp.vocabbackend.integration.helpers.TestUuidGenerator;
+import com.abadeksvp.vocabbackend.integration.helpers.TestWordManager;
+import com.abadeksvp.vocabbackend.model.WordStatus;
+import com.abadeksvp.vocabbackend.model.api.word.request.ReviewResultRequest;
+import com.abadeksvp.vocabbackend.model.api.word.request.SubmitBatchResultsRequest;
+import com.abadeksvp.vocabbackend.model.db.ReviewDailyStats;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+import java.util.UUID;
+
+import static com.abadeksvp.vocabbackend.integration.helpers.TestUserManager.DEFAULT_TEST_USERNAME;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WithMockUser(username = DEFAULT_TEST_USERNAME)
+public class StatsIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private TestUuidGenerator uuidGenerator;
+
+    @Autowired
+    private TestWordManager testWordManager;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    public void statsAreServedFromRollupsAndCanBeRebuilt() throws Exception {
+        testUserManager.signUpDefaultTestUser();
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        for (UUID id : ids) {
+            uuidGenerator.setUuid(id);
+            testWordManager.createWordWithTitle("/request/words/create-word-glow-request.json", "glow-" + id);
+        }
+        mockMvc.perform(post("/v1/words-batch/generate")
+                        .param("size", "2"))
+                .andExpect(status().isOk());
+        SubmitBatchResultsRequest request = SubmitBatchResultsRequest.builder()
+                .results(List.of(
+                        new ReviewResultRequest(ids.get(0), 5, WordStatus.LEARNED),
+                        new ReviewResultRequest(ids.get(1), 1, null)))
+                .build();
+        mockMvc.perform(post("/v1/words-batch/results")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestObjectMapper.getInstance().writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        expectTodayStats(mockMvc.perform(get("/v1/stats").param("days", "7")));
+
+        mongoTemplate.remove(new Query(), ReviewDailyStats.class);
+        mockMvc.perform(post("/v1/stats/rebuild"))
+                .andExpect(status().isOk());
+
+        expectTodayStats(mockMvc.perform(get("/v1/stats").param("days", "7")));
+    }
+
+    @Test
+    public void statsRangeIsValidated() throws Exception {
+        mockMvc.perform(get("/v1/stats").param("days", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void expectTodayStats(ResultActions result) throws Exception {
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviews").value(2))
+                .andExpect(jsonPath("$.learned").value(1))
+                .andExpect(jsonPath("$.correctRate").value(0.5))
+                .andExpect(jsonPath("$.days.length()").value(7))
+                .andExpect(jsonPath("$.days[6].reviews").value(2));
+    }
+}
@@ -0,0 +1,94 @@
+package com.abadeksvp.vocabbackend.integration;
+
+import com.abadeksvp.vocabbackend.benchmark.Benchmark;
+import com.abadeksvp.vocabbackend.model.WordStatus;
+import com.abadeksvp.vocabbackend.model.db.Definition;
+import com.abadeksvp.vocabbackend.model.db.Language;
+import com.abadeksvp.vocabbackend.model.db.Word;
+import com.abadeksvp.vocabbackend.repository.WordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static com.abadeksvp.vocabbackend.integration.helpers.TestUserManager.DEFAULT_TEST_USERNAME;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Compares bytes on the wire and latency of the full and summary list views on words with many
+ * definitions. Run with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+@Slf4j
+@WithMockUser(username = DEFAULT_TEST_USERNAME)
+public class WordListViewBenchmarkTest extends AbstractIntegrationTest {
+
+    private static final int WORDS = 200;
+    private static final int DEFINITIONS_PER_WORD = 20;
+    private static final int EXAMPLES_PER_DEFINITION = 5;
+    private static final int PAGE_SIZE = 50;
+    private static final int WARMUP_ITERATIONS = 50;
+    private static final int MEASURED_ITERATIONS = 200;
+
+    @Autowired
+    private WordRepository wordRepository;
+
+    @Test
+    public void compareFullAndSummaryViews() throws Exception {
+        wordRepository.saveAll(IntStream.range(0, WORDS).mapToObj(this::word).toList());
+
+        Benchmark.Result<Integer> full = measure("FULL");
+        Benchmark.Result<Integer> summary = measure("SUMMARY");
+        log.info("FULL view: {} bytes per page, {} us per request", full.last(), full.micros());
+        log.info("SUMMARY view: {} bytes per page, {} us per request", summary.last(), summary.micros());
+
+        assertTrue(summary.last() < full.last());
+    }
+
+    private Benchmark.Result<Integer> measure(String view) throws Exception {
+        return Benchmark.measure(WARMUP_ITERATIONS, MEASURED_ITERATIONS,
+                () -> request(view).getResponse().getContentAsByteArray().length);
+    }
+
+    private MvcResult request(String view) throws Exception {
+        return mockMvc.perform(get("/v1/words")
+                        .param("size", String.valueOf(PAGE_SIZE))
+                        .param("view", view))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    private Word word(int index) {
+        List<Definition> definitions = new ArrayList<>();
+        for (int i = 0; i < DEFINITIONS_PER_WORD; i++) {
+            List<String> examples = IntStream.range(0, EXAMPLES_PER_DEFINITION)
+                    .mapToObj(example -> "An example sentence number " + example + " for definition " + index)
+                    .toList();
+            definitions.add(new Definition("A fairly long definition text number " + i, examples));
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return Word.builder()
+                .id(UUID.randomUUID())
+                .username(DEFAULT_TEST_USERNAME)
+                .title("word" + index)
+                .transcription("wɜːd")
+                .part("noun")
+                .status(WordStatus.TO_LEARN)
+                .definitions(definitions)
+                .createDate(now)
+                .lastUpdateDate(now.plusSeconds(index))
+                .language(Language.ENGLISH)
+                .changeSeq((long) index + 1)
+                .build();
+    }
+}
@@ -3,15 +3,36 @@ package com.abadeksvp.vocabbackend.integration;
 import com.abadeksvp.vocabbackend.integration.helpers.TestObjectMapper;
 import com.abadeksvp.vocabbackend.integration.helpers.TestUuidGenerator;
 import com.abadeksvp.vocabbackend.integration.helpers.TestWordManager;
+import com.abadeksvp.vocabbackend.model.JobStatus;
 import com.abadeksvp.vocabbackend.model.WordStatus;
+import com.abadeksvp.vocabbackend.model.api.word.request.ChangeWordStatusRequest;
+import com.abadeksvp.vocabbackend.model.api.word.request.ReviewResultRequest;
+import com.abadeksvp.vocabbackend.model.api.word.request.ReviewWordRequest;
+import com.abadeksvp.vocabbackend.model.api.word.request.SubmitBatchResultsRequest;
+import com.abadeksvp.vocabbackend.model.api.word.response.BatchGenerationJobResponse;
 import com.abadeksvp.vocabbackend.model.api.word.response.WordResponse;
+import com.abadeksvp.vocabbackend.model.db.BatchGenerationJob;
 import com.abadeksvp.vocabbackend.model.db.Language;
+import com.abadeksvp.vocabbackend.model.db.ReviewEvent;
+import com.abadeksvp.vocabbackend.model.db.Word;
+import com.abadeksvp.vocabbackend.model.db.WordsBatch;
+import com.abadeksvp.vocabbackend.service.WordsBatchService;
 import com.fasterxml.jackson.core.type.TypeReference;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -19,8 +40,12 @@ import java.util.stream.Collectors;
 
 import static com.abadeksvp.vocabbackend.integration.helpers.TestUserManager.DEFAULT_TEST_USERNAME;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WithMockUser(username = DEFAULT_TEST_USERNAME)
@@ -32,15 +57,21 @@ public class WordsBatchIntegrationTest extends AbstractIntegrationTest {
     @Autowired
     private TestWordManager testWordManager;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private WordsBatchService wordsBatchService;
+
 
     @Test
     public void createWordsBatchTest() throws Exception {
         testUserManager.signUpDefaultTestUser();
         for (int i = 0; i < 30; i++) {
             uuidGenerator.setUuid(UUID.randomUUID());
-            testWordManager.createWord("/request/words/create-word-glow-request.json");
+            testWordManager.createWordWithTitle("/request/words/create-word-glow-request.json", "glow-" + i);
             uuidGenerator.setUuid(UUID.randomUUID());
-            testWordManager.createWord("/request/words/create-word-stop-request.json");
+            testWordManager.createWordWithTitle("/request/words/create-word-stop-request.json", "stop-" + i);
         }
         mockMvc.perform(post("/v1/words-batch/generate")
                         .param("size", "10"))
@@ -92,9 +123,9 @@ public class WordsBatchIntegrationTest extends AbstractIntegrationTest {
         testUserManager.signUpDefaultTestUser();
         for (int i = 0; i < 11; i++) {
             uuidGenerator.setUuid(UUID.randomUUID());
-            testWordManager.createWord("/request/words/create-word-glow-request.json");
+            testWordManager.createWordWithTitle("/request/words/create-word-glow-request.json", "glow-" + i);
             uuidGenerator.setUuid(UUID.randomUUID());
-            testWordManager.createWord("/request/words/create-serbian-word-request.json");
+            testWordManager.createWordWithTitle("/request/words/create-serbian-word-request.json", "serbian-" + i);
         }
         mockMvc.perform(post("/v1/words-batch/generate")
                         .param("size", "10"))
@@ -145,4 +176,341 @@ public class WordsBatchIntegrationTest extends AbstractIntegrationTest {
         );
     }
 
+    @Test
+    public void spacedRepetitionBatchTakesMostOverdueWords() throws Exception {
+        testUserManager.signUpDefaultTestUser();
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        for (UUID id : ids) {
+            uuidGenerator.setUuid(id);
+            testWordManager.createWordWithTitle("/request/words/create-word-glow-request.json", "glow-" + id);
+        }
+        for (UUID reviewed : ids.subList(0, 2)) {
+            mockMvc.perform(post("/v1/words/review")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(TestObjectMapper.getInstance().writeValueAsString(new ReviewWordRequest(reviewed, 5))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.interval").value(1))
+                    .andExpect(jsonPath("$.repetitions").value(1));
+        }
+
+        mockMvc.perform(post("/v1/words-batch/generate")
+                        .param("size", "1")
+                        .param("strategy", "SPACED_REPETITION"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/words-batch"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(ids.get(2).toString()));
+    }
+
+    @Test
+    public void otherUsersWordCannotBeReviewed() throws Exception {
+        testUserManager.signUpDefaultTestUser();
+        UUID id = UUID.randomUUID();
+        uuidGenerator.setUuid(id);
+        testWordManager.createWordWithTitle("/request/words/create-word-glow-request.json", "glow");
+
+        mockMvc.perform(post("/v1/words/review")
+                        .with(user("other_user"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestObjectMapper.getInstance().writeValueAsString(new ReviewWordRequest(id, 5))))
+                .andExpect(status().isNotFound());
+        assertEquals(0, mongoTemplate.count(new Query(), ReviewEvent.class));
+    }
+
+    @Test
+    public void resultsForBatchWithoutWordsAreRejected() throws Exception {
+        testUserManager.signUpDefaultTestUser();
+        mongoTemplate.insert(WordsBatch.builder()
+                .id(UUID.randomUUID())
+                .username(DEFAULT_TEST_USERNAME)
+                .language(Language.ENGLISH)
+                .build());
+
+        SubmitBatchResultsRequest request = SubmitBatchResultsRequest.builder()
+                .results(List.of(new ReviewResultRequest(UUID.randomUUID(), 5, null)))
+                .build();
+        mockMvc.perform(post("/v1/words-batch/results")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestObjectMapper.getInstance().writeValueAsString(request)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    public void submittedResultsAreLoggedAndApplied() throws Exception {
+        testUserManager.signUpDefaultTestUser();
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        for (UUID id : ids) {
+            uuidGenerator.setUuid(id);
+            testWordManager.createWordWithTitle("/request/words/create-word-glow-request.json", "glow-" + id);
+        }
+        mockMvc.perform(post("/v1/words-batch/generate")
+                        .param("size", "2"))
+                .andExpect(status().isOk());
+
+        SubmitBatchResultsRequest request = SubmitBatchResultsRequest.builder()
+                .results(List.of(
+                        new ReviewResultRequest(ids.get(0), 5, WordStatus.LEARNED),
+                        new ReviewResultRequest(ids.get(1), 1, null)))
+                .build();
+        mockMvc.perform(post("/v1/words-batch/results")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestObjectMapper.getInstance().writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/words/" + ids.get(0)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("LEARNED"));
+        mockMvc.perform(get("/v1/words/" + ids.get(1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("TO_LEARN"));
+        assertEquals(2, mongoTemplate.count(new Query(), ReviewEvent.class));
+
+        SubmitBatchResultsRequest foreign = SubmitBatchResultsRequest.builder()
+                .results(List.of(new ReviewResultRequest(UUID.randomUUID(), 5, null)))
+                .build();
+        mockMvc.perform(post("/v1/words-batch/results")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestObjectMapper.getInstance().writeValueAsString(foreign)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    public void deletedAndLearnedWordsAreReplacedInBatch() throws Exception {
+        testUserManager.signUpDefaultTestUser();
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        for (UUID id : ids) {
+            uuidGenerator.setUuid(id);
+            testWordManager.createWordWithTitle("/request/words/create-word-glow-request.json", "glow-" + id);
+        }
+        mockMvc.perform(post("/v1/words-batch/generate")
+                        .param("size", "2")
+                        .param("strategy", "SPACED_REPETITION"))
+                .andExpect(status().isOk());
+        Set<UUID> batchIds = getBatchIds();
+        assertEquals(2, batchIds.size());
+
+        UUID deleted = batchIds.iterator().next();
+        mockMvc.perform(delete("/v1/words/" + deleted))
+                .andExpect(status().isOk());
+        assertEquals(Set.copyOf(ids).stream().filter(id -> !id.equals(deleted)).collect(Collectors.toSet()), getBatchIds());
+
+        UUID learned = getBatchIds().iterator().next();
+        mockMvc.perform(patch("/v1/words/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestObjectMapper.getInstance().writeValueAsString(
+                                new ChangeWordStatusRequest(learned, WordStatus.LEARNED))))
+                .andExpect(status().isOk());
+        Set<UUID> remaining = getBatchIds();
+        assertEquals(1, remaining.size());
+        assertFalse(remaining.contains(learned));
+    }
+
+    @Test
+    public void spacedRepetitionBatchIsRefilledWithMostOverdueWord() throws Exception {
+        testUserManager.signUpDefaultTestUser();
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        for (UUID id : ids) {
+            uuidGenerator.setUuid(id);
+            testWordManager.createWordWithTitle("/request/words/create-word-glow-request.json", "glow-" + id);
+        }
+        mockMvc.perform(post("/v1/words-batch/generate")
+                        .param("size", "2")
+                        .param("strategy", "SPACED_REPETITION"))
+                .andExpect(status().isOk());
+        Set<UUID> batchIds = getBatchIds();
+        List<UUID> outside = ids.stream().filter(id -> !batchIds.contains(id)).toList();
+        LocalDateTime now = LocalDateTime.now();
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(outside.get(0))),
+                Update.update("review.dueAt", now.minusDays(1)), Word.class);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(outside.get(1))),
+                Update.update("review.dueAt", now.minusDays(5)), Word.class);
+
+        UUID deleted = batchIds.iterator().next();
+        mockMvc.perform(delete("/v1/words/" + deleted))
+                .andExpect(status().isOk());
+        Set<UUID> refilled = getBatchIds();
+        assertTrue(refilled.contains(outside.get(1)));
+        assertFalse(refilled.contains(outside.get(0)));
+    }
+
+    @Test
+    public void generateSwapsInPregeneratedBatch() throws Exception {
+        testUserManager.signUpDefaultTestUser();
+        for (int i = 0; i < 6; i++) {
+            uuidGenerator.setUuid(UUID.randomUUID());
+            testWordManager.createWordWithTitle("/request/words/create-word-glow-request.json", "glow-" + i);
+        }
+        mockMvc.perform(post("/v1/words-batch/generate")
+                        .param("size", "3")
+                        .param("strategy", "SPACED_REPETITION"))
+                .andExpect(status().isOk());
+
+        Set<UUID> current = getBatchIds();
+        wordsBatchService.pregenerate(DEFAULT_TEST_USERNAME, Language.ENGLISH);
+        WordsBatch pregenerated = mongoTemplate.findOne(new Query(), WordsBatch.class);
+        assertNotNull(pregenerated);
+        assertEquals(3, pregenerated.getPendingWords().size());
+        assertTrue(pregenerated.getPendingWords().stream().noneMatch(current::contains));
+
+        mockMvc.perform(post("/v1/words-batch/generate")
+                        .param("size", "3")
+                        .param("strategy", "SPACED_REPETITION"))
+                .andExpect(status().isOk());
+        WordsBatch swapped = mongoTemplate.findOne(new Query(), WordsBatch.class);
+        assertNotNull(swapped);
+        assertEquals(pregenerated.getPendingWords(), swapped.getWords());
+        assertNull(swapped.getPendingWords());
+    }
+
+    @Test
+    public void reviewResultsDiscardPregeneratedBatch() throws Exception {
+        testUserManager.signUpDefaultTestUser();
+        for (int i = 0; i < 4; i++) {
+            uuidGenerator.setUuid(UUID.randomUUID());
+            testWordManager.createWordWithTitle("/request/words/create-word-glow-request.json", "glow-" + i);
+        }
+        mockMvc.perform(post("/v1/words-batch/generate")
+                        .param("size", "2")
+                        .param("strategy", "SPACED_REPETITION"))
+                .andExpect(status().isOk());
+        UUID reviewed = getBatchIds().iterator().next();
+        wordsBatchService.pregenerate(DEFAULT_TEST_USERNAME, Language.ENGLISH);
+        assertNotNull(mongoTemplate.findOne(new Query(), WordsBatch.class).getPendingWords());
+
+        SubmitBatchResultsRequest request = SubmitBatchResultsRequest.builder()
+                .language(Language.ENGLISH)
+                .results(List.of(new ReviewResultRequest(reviewed, 5, null)))
+                .build();
+        mockMvc.perform(post("/v1/words-batch/results")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestObjectMapper.getInstance().writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        assertNull(mongoTemplate.findOne(new Query(), WordsBatch.class).getPendingWords());
+    }
+
+    @Test
+    public void largeBatchIsGeneratedByJobAndPaged() throws Exception {
+        testUserManager.signUpDefaultTestUser();
+        for (int i = 0; i < 3; i++) {
+            uuidGenerator.setUuid(UUID.randomUUID());
+            testWordManager.createWordWithTitle("/request/words/create-word-glow-request.json", "glow-" + i);
+        }
+        uuidGenerator.setUuid(UUID.randomUUID());
+        String jobResponse = mockMvc.perform(post("/v1/words-batch/generate")
+                        .param("size", "5000"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.size").value(5000))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        BatchGenerationJobResponse job = TestObjectMapper.getInstance().readValue(jobResponse, BatchGenerationJobResponse.class);
+
+        JobStatus jobStatus = job.getStatus();
+        for (int attempt = 0; attempt < 50 && jobStatus != JobStatus.COMPLETED; attempt++) {
+            Thread.sleep(100);
+            String polled = mockMvc.perform(get("/v1/words-batch/jobs/" + job.getId()))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+            jobStatus = TestObjectMapper.getInstance().readValue(polled, BatchGenerationJobResponse.class).getStatus();
+        }
+        assertEquals(JobStatus.COMPLETED, jobStatus);
+
+        mockMvc.perform(get("/v1/words-batch").param("page", "0").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+        mockMvc.perform(get("/v1/words-batch").param("page", "1").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+        mockMvc.perform(post("/v1/words-batch/generate").param("size", "10001"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    public void generationJobIsRefusedWhileAnotherIsActive() throws Exception {
+        testUserManager.signUpDefaultTestUser();
+        BatchGenerationJob active = activeJob(new Date(System.currentTimeMillis() + 60_000));
+
+        uuidGenerator.setUuid(UUID.randomUUID());
+        mockMvc.perform(post("/v1/words-batch/generate").param("size", "5000"))
+                .andExpect(status().isConflict());
+        assertEquals(JobStatus.RUNNING, mongoTemplate.findById(active.getId(), BatchGenerationJob.class).getStatus());
+    }
+
+    @Test
+    public void expiredGenerationJobIsFailedAndReplaced() throws Exception {
+        testUserManager.signUpDefaultTestUser();
+        BatchGenerationJob expired = activeJob(new Date(System.currentTimeMillis() - 1));
+
+        uuidGenerator.setUuid(UUID.randomUUID());
+        mockMvc.perform(post("/v1/words-batch/generate").param("size", "5000"))
+                .andExpect(status().isAccepted());
+        BatchGenerationJob failed = mongoTemplate.findById(expired.getId(), BatchGenerationJob.class);
+        assertEquals(JobStatus.FAILED, failed.getStatus());
+        assertNull(failed.getActive());
+    }
+
+    private BatchGenerationJob activeJob(Date leaseUntil) {
+        // Collections and their indexes are dropped after every test
+        IndexOperations indexOps = mongoTemplate.indexOps(BatchGenerationJob.class);
+        new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(BatchGenerationJob.class)
+                .forEach(indexOps::ensureIndex);
+        return mongoTemplate.insert(BatchGenerationJob.builder()
+                .id(UUID.randomUUID())
+                .username(DEFAULT_TEST_USERNAME)
+                .language(Language.ENGLISH)
+                .size(5000)
+                .status(JobStatus.RUNNING)
+                .active(true)
+                .leaseUntil(leaseUntil)
+                .build());
+    }
+
+    @Test
+    public void batchPagesKeepStoredOrder() throws Exception {
+        testUserManager.signUpDefaultTestUser();
+        for (int i = 0; i < 20; i++) {
+            uuidGenerator.setUuid(UUID.randomUUID());
+            testWordManager.createWordWithTitle("/request/words/create-word-glow-request.json", "glow-" + i);
+        }
+        mockMvc.perform(post("/v1/words-batch/generate")
+                        .param("size", "20"))
+                .andExpect(status().isOk());
+        WordsBatch batch = mongoTemplate.findOne(new Query(), WordsBatch.class);
+        assertNotNull(batch);
+
+        List<UUID> paged = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            String response = mockMvc.perform(get("/v1/words-batch")
+                            .param("page", String.valueOf(page))
+                            .param("size", "6")
+                            .param("fields", "title"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+            assertFalse(response.contains("\"id\""));
+        }
+        for (int page = 0; page < 3; page++) {
+            String response = mockMvc.perform(get("/v1/words-batch")
+                            .param("page", String.valueOf(page))
+                            .param("size", "6"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+            List<WordResponse> words = TestObjectMapper.getInstance().readValue(response, new TypeReference<>() {
+            });
+            words.forEach(word -> paged.add(word.getId()));
+        }
+        assertEquals(batch.getWords().subList(0, paged.size()), paged);
+    }
+
+    private Set<UUID> getBatchIds() throws Exception {
+        String response = mockMvc.perform(get("/v1/words-batch"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        List<WordResponse> batch = TestObjectMapper.getInstance().readValue(response, new TypeReference<>() {
+        });
+        return batch.stream()
+                .map(WordResponse::getId)
+                .collect(Collectors.toSet());
+    }
 }
@@ -1,28 +1,50 @@
 package com.abadeksvp.vocabbackend.integration;
 
 import com.abadeksvp.vocabbackend.integration.helpers.TestDateTimeGenerator;
+import com.abadeksvp.vocabbackend.integration.helpers.TestObjectMapper;
 import com.abadeksvp.vocabbackend.integration.helpers.TestUuidGenerator;
 import com.abadeksvp.vocabbackend.integration.helpers.TestWordManager;
 import com.abadeksvp.vocabbackend.model.api.SignUpRequest;
 import com.abadeksvp.vocabbackend.model.api.UserResponse;
+import com.abadeksvp.vocabbackend.model.WordStatus;
+import com.abadeksvp.vocabbackend.model.db.Definition;
+import com.abadeksvp.vocabbackend.model.db.IdempotencyRecord;
+import com.abadeksvp.vocabbackend.model.db.Language;
+import com.abadeksvp.vocabbackend.model.db.Word;
+import com.abadeksvp.vocabbackend.service.WordTitleDeduplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.jayway.jsonpath.JsonPath;
 import java.nio.charset.StandardCharsets;
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.Test;
 import org.skyscreamer.jsonassert.JSONAssert;
 import org.skyscreamer.jsonassert.JSONCompareMode;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.request.RequestPostProcessor;
 import org.testcontainers.shaded.com.google.common.base.Charsets;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import static com.abadeksvp.vocabbackend.integration.helpers.TestDateTimeGenerator.FORMATTER;
 import static com.abadeksvp.vocabbackend.integration.helpers.TestUserManager.DEFAULT_TEST_USERNAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -50,6 +72,12 @@ public class WordsIntegrationTest extends AbstractIntegrationTest {
     @Autowired
     private TestWordManager testWordManager;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private WordTitleDeduplication wordTitleDeduplication;
+
     @Test
     public void createAndChangeWordTest() throws Exception {
         testUserManager.signUpDefaultTestUser();
@@ -99,6 +127,21 @@ public class WordsIntegrationTest extends AbstractIntegrationTest {
         JSONAssert.assertEquals(expectedAllLearnedWordsResponse, actualAllLearnedWordsResponse, JSONCompareMode.STRICT);
     }
 
+    @Test
+    public void fullFirstPageReportsTotal() throws Exception {
+        testUserManager.signUpDefaultTestUser();
+        createWordGlow();
+        createWordStop();
+        createWordFast();
+        createWordFinish();
+
+        mockMvc.perform(get("/v1/words")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.paging.totalElements").value(4));
+    }
+
     @Test
     public void returnOnlyUsersWords() throws Exception {
         UserResponse user1 = testUserManager.signUp(SignUpRequest.builder()
@@ -143,6 +186,302 @@ public class WordsIntegrationTest extends AbstractIntegrationTest {
         JSONAssert.assertEquals(expectedAllToLearnWordsResponse, actualAllToLearnWordsResponse, JSONCompareMode.STRICT);
     }
 
+    @Test
+    public void summaryViewReturnsOnlyListFields() throws Exception {
+        testUserManager.signUpDefaultTestUser();
+        createWordGlow();
+
+        mockMvc.perform(get("/v1/words").param("view", "SUMMARY"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(GLOW_WORD_ID.toString()))
+                .andExpect(jsonPath("$.data[0].title").exists())
+                .andExpect(jsonPath("$.data[0].status").exists())
+                .andExpect(jsonPath("$.data[0].language").exists())
+                .andExpect(jsonPath("$.data[0].definitions").doesNotExist())
+                .andExpect(jsonPath("$.paging.totalElements").value(1));
+    }
+
+    @Test
+    public void fieldsSelectWhatIsReturned() throws Exception {
+        testUserManager.signUpDefaultTestUser();
+        createWordGlow();
+
+        mockMvc.perform(get("/v1/words/" + GLOW_WORD_ID).param("fields", "title,definitions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").exists())
+                .andExpect(jsonPath("$.definitions").isArray())
+                .andExpect(jsonPath("$.id").doesNotExist())
+                .andExpect(jsonPath("$.status").doesNotExist());
+
+        mockMvc.perform(get("/v1/words").param("fields", "status,createDate,lastUpdateDate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].status").exists())
+                .andExpect(jsonPath("$.data[0].title").doesNotExist());
+
+        mockMvc.perform(get("/v1/words").param("fields", "status,username"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void cborRequestsAndResponsesAreNegotiated() throws Exception {
+        testUserManager.signUpDefaultTestUser();
+        CBORMapper cborMapper = new CBORMapper();
+        JsonNode createRequest = TestObjectMapper.getInstance()
+                .readTree(fileReader.read("/request/words/create-word-glow-request.json"));
+        uuidGenerator.setUuid(GLOW_WORD_ID);
+        dateTimeGenerator.setDateTime(GLOW_WORD_DATE_TIME);
+        mockMvc.perform(post("/v1/words")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(createRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_CBOR_VALUE));
+
+        byte[] cbor = mockMvc.perform(get("/v1/words").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_CBOR_VALUE))
+                .andReturn().getResponse().getContentAsByteArray();
+        String json = mockMvc.perform(get("/v1/words"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertEquals(TestObjectMapper.getInstance().readTree(json), cborMapper.readTree(cbor));
+    }
+
+    @Test
+    public void conditionalGetIsNotModifiedUntilVocabularyChanges() throws Exception {
+        testUserManager.signUpDefaultTestUser();
+        createWordGlow();
+
+        String etag = mockMvc.perform(get("/v1/words"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "private, no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/v1/words").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        createWordStop();
+
+        mockMvc.perform(get("/v1/words").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2));
+    }
+
+    @Test
+    public void changesReturnTombstonesForDeletedWords() throws Exception {
+        testUserManager.signUpDefaultTestUser();
+        createWordGlow();
+        createWordStop();
+
+        String next = JsonPath.read(mockMvc.perform(get("/v1/words/changes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed.length()").value(2))
+                .andExpect(jsonPath("$.deleted.length()").value(0))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andReturn().getResponse().getContentAsString(), "$.next");
+
+        mockMvc.perform(delete("/v1/words/" + STOP_WORD_ID))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/words/changes").param("since", next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed.length()").value(0))
+                .andExpect(jsonPath("$.deleted[0]").value(STOP_WORD_ID.toString()));
+
+        mockMvc.perform(get("/v1/words"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1));
+
+        dateTimeGenerator.setDateTime(STOP_WORD_DATE_TIME.plusDays(Word.TOMBSTONE_TTL_DAYS + 1));
+        mockMvc.perform(get("/v1/words/changes").param("since", next))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    public void pendingIdempotencyRecordIsReleasedAfterItsLease() throws Exception {
+        testUserManager.signUpDefaultTestUser();
+        // Left behind by a request that died before storing its response
+        mongoTemplate.insert(IdempotencyRecord.builder()
+                .id(DEFAULT_TEST_USERNAME + ":create-glow")
+                .fingerprint("unknown")
+                .createDate(TestDateTimeGenerator.TEST_DATE_TIME.minusMinutes(5))
+                .build());
+        uuidGenerator.setUuid(GLOW_WORD_ID);
+
+        mockMvc.perform(post("/v1/words")
+                        .header("Idempotency-Key", "create-glow")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(fileReader.read("/request/words/create-word-glow-request.json")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(GLOW_WORD_ID.toString()));
+
+        assertTrue(mongoTemplate.findById(DEFAULT_TEST_USERNAME + ":create-glow", IdempotencyRecord.class).isCompleted());
+    }
+
+    @Test
+    public void retriedCreateWithIdempotencyKeyReturnsOriginalWord() throws Exception {
+        testUserManager.signUpDefaultTestUser();
+        String glowRequest = fileReader.read("/request/words/create-word-glow-request.json");
+        uuidGenerator.setUuid(GLOW_WORD_ID);
+        mockMvc.perform(post("/v1/words")
+                        .header("Idempotency-Key", "create-glow")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(glowRequest))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(GLOW_WORD_ID.toString()));
+
+        uuidGenerator.setUuid(STOP_WORD_ID);
+        mockMvc.perform(post("/v1/words")
+                        .header("Idempotency-Key", "create-glow")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(glowRequest))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(GLOW_WORD_ID.toString()));
+
+        mockMvc.perform(post("/v1/words")
+                        .header("Idempotency-Key", "create-glow")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(fileReader.read("/request/words/create-word-stop-request.json")))
+                .andExpect(status().isUnprocessableEntity());
+
+        mockMvc.perform(get("/v1/words"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1));
+    }
+
+    @Test
+    public void titlesAreUniquePerUserAndLanguage() throws Exception {
+        testUserManager.signUpDefaultTestUser();
+        createWordGlow();
+        createWordStop();
+        createWordGlow(user("aaaaaa"));
+
+        ObjectNode duplicate = (ObjectNode) TestObjectMapper.getInstance()
+                .readTree(fileReader.read("/request/words/create-word-glow-request.json"));
+        duplicate.put("title", "  GLOW_Learned ");
+        uuidGenerator.setUuid(FAST_WORD_ID);
+        mockMvc.perform(post("/v1/words")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(duplicate.toString()))
+                .andExpect(status().isConflict());
+
+        ObjectNode rename = (ObjectNode) TestObjectMapper.getInstance()
+                .readTree(fileReader.read("/request/words/update-word-request.json"));
+        rename.put("id", STOP_WORD_ID.toString());
+        rename.put("title", "glow_learned");
+        mockMvc.perform(put("/v1/words")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(rename.toString()))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(delete("/v1/words/" + GLOW_WORD_ID))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/v1/words")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(rename.toString()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void existingDuplicatesAreMerged() throws Exception {
+        // As stored before titles were unique, without the index or normalized titles
+        mongoTemplate.dropCollection(Word.class);
+        LocalDateTime createDate = GLOW_WORD_DATE_TIME;
+        for (UUID id : List.of(GLOW_WORD_ID, STOP_WORD_ID)) {
+            mongoTemplate.insert(Word.builder()
+                    .id(id)
+                    .username(DEFAULT_TEST_USERNAME)
+                    .title(id.equals(GLOW_WORD_ID) ? "Glow" : "glow")
+                    .status(WordStatus.TO_LEARN)
+                    .language(Language.ENGLISH)
+                    .definitions(new ArrayList<>(List.of(new Definition("to shine", new ArrayList<>(List.of(id.toString()))))))
+                    .createDate(createDate)
+                    .lastUpdateDate(createDate)
+                    .build());
+            createDate = createDate.plusDays(1);
+        }
+        mongoTemplate.updateFirst(query(where("_id").is(GLOW_WORD_ID)), new Update().unset("deleted"), Word.class);
+
+        wordTitleDeduplication.deduplicate();
+
+        Word kept = mongoTemplate.findById(GLOW_WORD_ID, Word.class);
+        assertNotNull(kept);
+        assertEquals(1, kept.getDefinitions().size());
+        assertEquals(List.of(GLOW_WORD_ID.toString(), STOP_WORD_ID.toString()), kept.getDefinitions().get(0).getExamples());
+        assertTrue(mongoTemplate.findById(STOP_WORD_ID, Word.class).isDeleted());
+        assertTrue(mongoTemplate.exists(query(where("_id").is(GLOW_WORD_ID).and("deleted").is(false)), Word.class));
+        assertTrue(mongoTemplate.indexOps(Word.class).getIndexInfo().stream()
+                .anyMatch(index -> index.getName().equals(WordTitleDeduplication.TITLE_INDEX)));
+    }
+
+    @Test
+    public void suggestionsFollowWrites() throws Exception {
+        testUserManager.signUpDefaultTestUser();
+        createWordGlow();
+        createWordFast();
+        createWordFinish();
+
+        mockMvc.perform(get("/v1/words/suggest").param("prefix", "F"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("fast"))
+                .andExpect(jsonPath("$[1].title").value("finish"));
+
+        createWordStop();
+        mockMvc.perform(delete("/v1/words/" + FAST_WORD_ID))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/v1/words/suggest").param("prefix", "f"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(FINISH_WORD_ID.toString()));
+        mockMvc.perform(get("/v1/words/suggest").param("prefix", "st"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(STOP_WORD_ID.toString()));
+        mockMvc.perform(get("/v1/words/suggest").param("prefix", "f").param("language", "SERBIAN"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/v1/words/suggest").param("prefix", "f").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void fuzzySearchToleratesTypos() throws Exception {
+        testUserManager.signUpDefaultTestUser();
+        createWordGlow();
+        createWordFast();
+        createWordFinish();
+
+        mockMvc.perform(get("/v1/words").param("q", "Finst"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(0));
+        mockMvc.perform(get("/v1/words").param("q", "Finst").param("fuzzy", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].id").value(FAST_WORD_ID.toString()))
+                .andExpect(jsonPath("$.data[1].id").value(FINISH_WORD_ID.toString()))
+                .andExpect(jsonPath("$.paging.totalElements").value(2));
+        mockMvc.perform(get("/v1/words").param("q", "finst").param("fuzzy", "true").param("status", "TO_LEARN"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].id").value(FINISH_WORD_ID.toString()));
+        mockMvc.perform(get("/v1/words").param("q", "finst").param("fuzzy", "true")
+                        .param("page", "1").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].id").value(FINISH_WORD_ID.toString()))
+                .andExpect(jsonPath("$.paging.totalElements").value(2));
+
+        mockMvc.perform(delete("/v1/words/" + FAST_WORD_ID))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/v1/words").param("q", "glo").param("fuzzy", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(GLOW_WORD_ID.toString()));
+        mockMvc.perform(get("/v1/words").param("q", "finst").param("fuzzy", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].id").value(FINISH_WORD_ID.toString()));
+    }
+
     private void createWordGlow() throws Exception {
         createWord(GLOW_WORD_ID,
                 "/request/words/create-word-glow-request.json",
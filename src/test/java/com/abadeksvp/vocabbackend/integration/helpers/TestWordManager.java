@@ -1,5 +1,6 @@
 package com.abadeksvp.vocabbackend.integration.helpers;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.apache.commons.io.IOUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -27,8 +28,20 @@ public class TestWordManager {
         createWord(requestPath, null);
     }
 
+    /**
+     * Creates a word from the request file under another title, as titles are unique per user and language.
+     */
+    public void createWordWithTitle(String requestPath, String title) throws Exception {
+        ObjectNode request = (ObjectNode) TestObjectMapper.getInstance().readTree(getClass().getResource(requestPath));
+        request.put("title", title);
+        create(request.toString(), null);
+    }
+
     public void createWord(String requestPath, RequestPostProcessor postProcessor) throws Exception {
-        String createWordRequest = IOUtils.toString(getClass().getResource(requestPath), Charsets.UTF_8);
+        create(IOUtils.toString(getClass().getResource(requestPath), Charsets.UTF_8), postProcessor);
+    }
+
+    private void create(String createWordRequest, RequestPostProcessor postProcessor) throws Exception {
         var builder = post("/v1/words")
                 .param("status", "TO_LEARN")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -0,0 +1,124 @@
+package com.abadeksvp.vocabbackend.mapping.writer;
+
+import com.abadeksvp.vocabbackend.exceptions.ApiException;
+import com.abadeksvp.vocabbackend.integration.helpers.TestObjectMapper;
+import com.abadeksvp.vocabbackend.mapping.mapper.DefinitionToDefinitionResponseMapper;
+import com.abadeksvp.vocabbackend.mapping.mapper.WordToWordResponseMapper;
+import com.abadeksvp.vocabbackend.model.WordStatus;
+import com.abadeksvp.vocabbackend.model.api.word.response.WordResponse;
+import com.abadeksvp.vocabbackend.model.db.Definition;
+import com.abadeksvp.vocabbackend.model.db.Language;
+import com.abadeksvp.vocabbackend.model.db.Word;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.mongodb.MongoClientSettings;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.UuidRepresentation;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.springframework.boot.autoconfigure.mongo.MongoProperties;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.http.HttpStatus;
+
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RawWordJsonWriterTest {
+
+    private static final CodecRegistry CODEC_REGISTRY = CodecRegistries.withUuidRepresentation(
+            MongoClientSettings.getDefaultCodecRegistry(), UuidRepresentation.JAVA_LEGACY);
+
+    private RawWordJsonWriter writer;
+    private WordToWordResponseMapper mapper;
+    private MappingMongoConverter converter;
+
+    @BeforeEach
+    public void init() {
+        writer = new RawWordJsonWriter(new MongoProperties());
+        mapper = new WordToWordResponseMapper(new DefinitionToDefinitionResponseMapper());
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+    }
+
+    @Test
+    public void rawOutputMatchesMappedResponse() throws Exception {
+        Word word = glow();
+        String expected = TestObjectMapper.getInstance().writeValueAsString(mapper.map(word));
+        JSONAssert.assertEquals(expected, writeRaw(word, WordFieldSelection.ALL), JSONCompareMode.STRICT);
+    }
+
+    @Test
+    public void rawSummaryMatchesMappedResponseFields() throws Exception {
+        Word word = glow();
+        WordResponse response = mapper.map(word);
+        String expected = TestObjectMapper.getInstance().writeValueAsString(Map.of(
+                "id", response.getId(),
+                "title", response.getTitle(),
+                "status", response.getStatus(),
+                "language", response.getLanguage()));
+        JSONAssert.assertEquals(expected, writeRaw(word, WordFieldSelection.SUMMARY), JSONCompareMode.STRICT);
+    }
+
+    @Test
+    public void rawOutputContainsOnlySelectedFields() throws Exception {
+        Word word = glow();
+        WordResponse response = mapper.map(word);
+        String expected = TestObjectMapper.getInstance().writeValueAsString(Map.of(
+                "title", response.getTitle(),
+                "transcription", NullNode.getInstance(),
+                "definitions", response.getDefinitions()));
+        JSONAssert.assertEquals(expected, writeRaw(word, WordFieldSelection.parse("title, definitions,transcription")),
+                JSONCompareMode.STRICT);
+    }
+
+    @Test
+    public void unknownFieldIsRejected() {
+        ApiException exception = assertThrows(ApiException.class, () -> WordFieldSelection.parse("title,username"));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+    }
+
+    private Word glow() {
+        return Word.builder()
+                .id(UUID.randomUUID())
+                .username("test_username")
+                .title("glow")
+                .part("verb")
+                .status(WordStatus.TO_LEARN)
+                .definitions(List.of(
+                        new Definition("to produce a steady light", List.of("The embers still glowed.", "Glows in the dark.")),
+                        new Definition("to look happy", List.of())))
+                .createDate(LocalDateTime.of(2022, 9, 25, 22, 30, 40))
+                .lastUpdateDate(LocalDateTime.of(2022, 9, 26, 8, 0, 1))
+                .language(Language.ENGLISH)
+                .build();
+    }
+
+    private String writeRaw(Word word, WordFieldSelection selection) throws Exception {
+        Document document = new Document();
+        converter.write(word, document);
+        RawBsonDocument raw = new RawBsonDocument(document, CODEC_REGISTRY.get(Document.class));
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = TestObjectMapper.getInstance().getFactory().createGenerator(out)) {
+            writer.write(raw, generator, selection);
+        }
+        return out.toString();
+    }
+}
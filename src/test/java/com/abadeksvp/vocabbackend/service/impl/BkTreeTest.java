@@ -0,0 +1,74 @@
+package com.abadeksvp.vocabbackend.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BkTreeTest {
+
+    private static final UUID BOOK = UUID.randomUUID();
+    private static final UUID BOOKS = UUID.randomUUID();
+    private static final UUID BACK = UUID.randomUUID();
+    private static final UUID CAKE = UUID.randomUUID();
+    private static final UUID BOOKCASE = UUID.randomUUID();
+
+    @Test
+    public void findsTermsWithinDistanceClosestFirst() {
+        BkTree tree = tree();
+
+        assertEquals(List.of(BOOK, BOOKS), ids(tree.search("book", 1)));
+        assertEquals(List.of(BACK, BOOK, BOOKS), ids(tree.search("bock", 2)));
+        assertEquals(List.of(BOOK, BOOKS), ids(tree.search("bookz", 1)));
+        assertEquals(List.of(BOOKCASE), ids(tree.search("bokcase", 1)));
+        assertEquals(List.of(), ids(tree.search("bookshelf", 2)));
+        assertEquals(1, tree.search("bock", 2).get(0).distance());
+    }
+
+    @Test
+    public void removedTermsAreNotFoundButKeepRouting() {
+        BkTree tree = tree();
+
+        tree.remove("book");
+        tree.remove("missing");
+
+        assertEquals(List.of(BOOKS), ids(tree.search("book", 1)));
+        assertEquals(List.of(CAKE), ids(tree.search("cake", 0)));
+        assertEquals(4, tree.size());
+        assertEquals(1, tree.removed());
+
+        UUID readded = UUID.randomUUID();
+        tree.add(readded, "book");
+
+        assertEquals(List.of(readded, BOOKS), ids(tree.search("book", 1)));
+        assertEquals(5, tree.size());
+        assertEquals(0, tree.removed());
+    }
+
+    @Test
+    public void computesLevenshteinDistance() {
+        BkTree tree = new BkTree();
+
+        assertEquals(0, tree.distance("", ""));
+        assertEquals(4, tree.distance("", "book"));
+        assertEquals(3, tree.distance("kitten", "sitting"));
+        assertEquals(2, tree.distance("flaw", "lawn"));
+        assertEquals(8, tree.distance("a", "bookcases"));
+    }
+
+    private BkTree tree() {
+        BkTree tree = new BkTree();
+        tree.add(BOOK, "book");
+        tree.add(BOOKS, "books");
+        tree.add(BACK, "back");
+        tree.add(CAKE, "cake");
+        tree.add(BOOKCASE, "bookcase");
+        return tree;
+    }
+
+    private List<UUID> ids(List<BkTree.Match> matches) {
+        return matches.stream().map(BkTree.Match::id).toList();
+    }
+}
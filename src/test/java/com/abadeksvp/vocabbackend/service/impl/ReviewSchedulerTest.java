@@ -0,0 +1,54 @@
+package com.abadeksvp.vocabbackend.service.impl;
+
+import com.abadeksvp.vocabbackend.model.db.ReviewState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReviewSchedulerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2022, 9, 25, 22, 30, 40);
+
+    private ReviewScheduler scheduler;
+
+    @BeforeEach
+    public void init() {
+        scheduler = new ReviewScheduler();
+    }
+
+    @Test
+    public void intervalsGrowWithCorrectAnswers() {
+        ReviewState first = scheduler.next(null, 4, NOW);
+        assertEquals(1, first.getInterval());
+        assertEquals(NOW.plusDays(1), first.getDueAt());
+
+        ReviewState second = scheduler.next(first, 4, NOW);
+        assertEquals(6, second.getInterval());
+
+        ReviewState third = scheduler.next(second, 4, NOW);
+        assertEquals(Math.round(6 * second.getEase()), third.getInterval());
+        assertEquals(3, third.getRepetitions());
+        assertEquals(ReviewState.INITIAL_EASE, third.getEase(), 1e-9);
+    }
+
+    @Test
+    public void failedAnswerStartsOverAndLowersEase() {
+        ReviewState learned = scheduler.next(scheduler.next(null, 5, NOW), 5, NOW);
+        ReviewState failed = scheduler.next(learned, 1, NOW);
+        assertEquals(0, failed.getRepetitions());
+        assertEquals(1, failed.getInterval());
+        assertTrue(failed.getEase() < learned.getEase());
+    }
+
+    @Test
+    public void easeNeverDropsBelowMinimum() {
+        ReviewState state = null;
+        for (int i = 0; i < 20; i++) {
+            state = scheduler.next(state, 0, NOW);
+        }
+        assertEquals(1.3, state.getEase(), 1e-9);
+    }
+}
@@ -0,0 +1,60 @@
+package com.abadeksvp.vocabbackend.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TitleIndexTest {
+
+    private static final UUID FAST = UUID.randomUUID();
+    private static final UUID FINISH = UUID.randomUUID();
+    private static final UUID FIG = UUID.randomUUID();
+    private static final UUID GLOW = UUID.randomUUID();
+
+    @Test
+    public void completesPrefixInTitleOrder() {
+        TitleIndex index = TitleIndex.of(List.of(
+                new TitleIndex.Entry(GLOW, "glow", "Glow"),
+                new TitleIndex.Entry(FINISH, "finish", "finish"),
+                new TitleIndex.Entry(FAST, "fast", "fast"),
+                new TitleIndex.Entry(FIG, "fig", "fig")));
+
+        assertEquals(List.of(FAST, FIG, FINISH), ids(index.complete("f", 10)));
+        assertEquals(List.of(FIG, FINISH), ids(index.complete("fi", 10)));
+        assertEquals(List.of(FAST), ids(index.complete("f", 1)));
+        assertEquals(List.of(), ids(index.complete("h", 10)));
+        assertEquals("Glow", index.complete("gl", 10).get(0).title());
+    }
+
+    @Test
+    public void changesLeaveTheOriginalIndexIntact() {
+        TitleIndex index = TitleIndex.of(List.of(
+                new TitleIndex.Entry(FAST, "fast", "fast"),
+                new TitleIndex.Entry(FINISH, "finish", "finish")));
+
+        TitleIndex changed = index.with(new TitleIndex.Entry(FIG, "fig", "fig")).without(FAST);
+
+        assertEquals(List.of(FIG, FINISH), ids(changed.complete("f", 10)));
+        assertEquals(List.of(FAST, FINISH), ids(index.complete("f", 10)));
+    }
+
+    @Test
+    public void renamedEntryMoves() {
+        TitleIndex index = TitleIndex.of(List.of(
+                new TitleIndex.Entry(FAST, "fast", "fast"),
+                new TitleIndex.Entry(GLOW, "glow", "glow")));
+
+        TitleIndex renamed = index.with(new TitleIndex.Entry(FAST, "gleam", "gleam"));
+
+        assertEquals(2, renamed.size());
+        assertEquals(List.of(FAST, GLOW), ids(renamed.complete("gl", 10)));
+        assertEquals(List.of(), ids(renamed.complete("f", 10)));
+    }
+
+    private static List<UUID> ids(List<TitleIndex.Entry> entries) {
+        return entries.stream().map(TitleIndex.Entry::id).toList();
+    }
+}
@@ -0,0 +1,37 @@
+package com.abadeksvp.vocabbackend.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UuidIndexTest {
+
+    @Test
+    public void everyIdIsFoundAtItsPosition() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        UuidIndex index = new UuidIndex(ids);
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i, index.positionOf(ids.get(i)));
+        }
+        assertEquals(-1, index.positionOf(UUID.randomUUID()));
+    }
+
+    @Test
+    public void duplicateIdKeepsFirstPosition() {
+        UUID id = UUID.randomUUID();
+        UuidIndex index = new UuidIndex(List.of(id, UUID.randomUUID(), id));
+        assertEquals(0, index.positionOf(id));
+    }
+
+    @Test
+    public void emptyListHasNoPositions() {
+        assertEquals(-1, new UuidIndex(List.of()).positionOf(UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,81 @@
+package com.abadeksvp.vocabbackend.web;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = 1_000_000;
+    private static final long SLOW = 10 * FAST;
+
+    @Test
+    public void requestsOverLimitAreRejected() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 2, 2.0, 0.5);
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+        limiter.release(FAST);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    public void limitGrowsWhileFastAndUsed() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 2, 2.0, 0.5);
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            limiter.tryAcquire();
+            limiter.release(FAST);
+            limiter.release(FAST);
+        }
+        assertTrue(limiter.getLimit() > 2);
+    }
+
+    @Test
+    public void limitShrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 10, 1, 2.0, 0.5);
+        limiter.tryAcquire();
+        limiter.release(FAST);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire();
+            limiter.release(SLOW);
+        }
+        assertEquals(1, limiter.getLimit());
+    }
+
+    @Test
+    public void limitIsCutOncePerSlowWindow() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 10, 4, 2.0, 0.5);
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST);
+        }
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+            limiter.release(SLOW);
+        }
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    public void steadyMixOfFastAndSlowRequestsKeepsTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 10, 10, 2.0, 0.5);
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(i % 2 == 0 ? FAST : SLOW);
+        }
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    public void unsampledReleasesDoNotMoveTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 1, 2.0, 0.5);
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        limiter.releaseUnsampled();
+        limiter.releaseUnsampled();
+        assertEquals(2, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+}
@@ -0,0 +1,51 @@
+package com.abadeksvp.vocabbackend.web;
+
+import com.abadeksvp.vocabbackend.benchmark.Benchmark;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the cost of a limiter decision when many threads hit the same and different buckets.
+ * Run with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+@Slf4j
+public class TokenBucketLimiterBenchmarkTest {
+
+    private static final int THREADS = Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 1_000_000;
+
+    @Test
+    public void contendedSingleBucket() throws Exception {
+        TokenBucketLimiter<String> limiter = new TokenBucketLimiter<>(TokenBucketLimiter.MAX_CAPACITY, 1_000_000);
+        run("single bucket", thread -> "user", limiter);
+    }
+
+    @Test
+    public void bucketPerThread() throws Exception {
+        TokenBucketLimiter<String> limiter = new TokenBucketLimiter<>(TokenBucketLimiter.MAX_CAPACITY, 1_000_000);
+        run("bucket per thread", thread -> "user" + thread, limiter);
+    }
+
+    private void run(String name, IntFunction<String> keys, TokenBucketLimiter<String> limiter) throws Exception {
+        String[] threadKeys = IntStream.range(0, THREADS).mapToObj(keys).toArray(String[]::new);
+        LongAdder acquired = new LongAdder();
+        Benchmark.Result<Void> result = Benchmark.measureConcurrently(THREADS, WARMUP_ITERATIONS, MEASURED_ITERATIONS,
+                thread -> {
+                    if (limiter.tryAcquire(threadKeys[thread]) == 0) {
+                        acquired.increment();
+                    }
+                });
+        log.info("{}: {} threads, {} ns per decision, {} of {} acquired", name, THREADS, result.nanos(),
+                acquired.sum(), (long) THREADS * (WARMUP_ITERATIONS + MEASURED_ITERATIONS));
+        assertTrue(acquired.sum() > 0);
+    }
+}
@@ -0,0 +1,48 @@
+package com.abadeksvp.vocabbackend.web;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketLimiterTest {
+
+    @Test
+    public void burstUpToCapacityThenWaitForRefill() {
+        TokenBucketLimiter<String> limiter = new TokenBucketLimiter<>(3, 2);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("user", 0));
+        }
+        assertEquals(500, limiter.tryAcquire("user", 0));
+        assertEquals(250, limiter.tryAcquire("user", 250));
+        assertEquals(0, limiter.tryAcquire("user", 500));
+        assertEquals(0, limiter.tryAcquire("other", 500));
+    }
+
+    @Test
+    public void refillNeverExceedsCapacity() {
+        TokenBucketLimiter<String> limiter = new TokenBucketLimiter<>(2, 10);
+        assertEquals(0, limiter.tryAcquire("user", 0));
+        assertEquals(0, limiter.tryAcquire("user", 60_000));
+        assertEquals(0, limiter.tryAcquire("user", 60_000));
+        assertNotEquals(0, limiter.tryAcquire("user", 60_000));
+    }
+
+    @Test
+    public void permitsAreTakenTogetherOrNotAtAll() {
+        TokenBucketLimiter<String> limiter = new TokenBucketLimiter<>(5, 1);
+        assertEquals(0, limiter.tryAcquire("user", 3, 0));
+        assertEquals(1000, limiter.tryAcquire("user", 3, 0));
+        assertEquals(0, limiter.tryAcquire("user", 2, 0));
+        assertEquals(5000, limiter.tryAcquire("user", 100, 0));
+        assertEquals(0, limiter.tryAcquire("user", 100, 5000));
+    }
+
+    @Test
+    public void idleBucketsAreEvicted() {
+        TokenBucketLimiter<String> limiter = new TokenBucketLimiter<>(1, 1);
+        limiter.tryAcquire("user");
+        assertEquals(1, limiter.size());
+        limiter.evictIdle(-1);
+        assertEquals(0, limiter.size());
+    }
+}
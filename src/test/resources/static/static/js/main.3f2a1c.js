@@ -0,0 +1 @@
+console.log("vocab test bundle");